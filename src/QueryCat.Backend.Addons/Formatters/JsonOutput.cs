@@ -2,15 +2,19 @@ using System.Globalization;
 using System.Text.Json;
 using Microsoft.Extensions.Logging;
 using QueryCat.Backend.Core;
+using QueryCat.Backend.Core.Data;
 using QueryCat.Backend.Core.Types;
 using QueryCat.Backend.Storage;
 
 namespace QueryCat.Backend.Addons.Formatters;
 
-internal sealed class JsonOutput : RowsOutput, IDisposable
+internal sealed class JsonOutput : RowsOutput, IRowsOutputBatch, IDisposable
 {
     private readonly Utf8JsonWriter _streamWriter;
 
+    // Columns names encoded once to UTF-8.
+    private JsonEncodedText[] _propertyNames = [];
+
     private readonly ILogger _logger = Application.LoggerFactory.CreateLogger(nameof(JsonOutput));
 
     public JsonOutput(Stream stream, int? indent = null)
@@ -42,6 +46,27 @@ internal sealed class JsonOutput : RowsOutput, IDisposable
 
     /// <inheritdoc />
     protected override async ValueTask<ErrorCode> OnWriteAsync(VariantValue[] values, CancellationToken cancellationToken = default)
+    {
+        WriteRow(values);
+        await _streamWriter.FlushAsync(cancellationToken);
+
+        return ErrorCode.OK;
+    }
+
+    /// <inheritdoc />
+    protected override async ValueTask<ErrorCode> OnWriteBatchAsync(IReadOnlyList<VariantValue[]> rows,
+        CancellationToken cancellationToken = default)
+    {
+        for (var i = 0; i < rows.Count; i++)
+        {
+            WriteRow(rows[i]);
+        }
+        await _streamWriter.FlushAsync(cancellationToken);
+
+        return ErrorCode.OK;
+    }
+
+    private void WriteRow(VariantValue[] values)
     {
         _streamWriter.WriteStartObject();
         var columns = QueryContext.QueryInfo.Columns;
@@ -51,18 +76,18 @@ internal sealed class JsonOutput : RowsOutput, IDisposable
             {
                 continue;
             }
-            _streamWriter.WritePropertyName(columns[i].Name);
+            _streamWriter.WritePropertyName(_propertyNames[i]);
             WriteJsonVariantValue(_streamWriter, values[i]);
         }
         _streamWriter.WriteEndObject();
-        await _streamWriter.FlushAsync(cancellationToken);
-
-        return ErrorCode.OK;
     }
 
     /// <inheritdoc />
     protected override Task InitializeAsync(CancellationToken cancellationToken = default)
     {
+        _propertyNames = QueryContext.QueryInfo.Columns
+            .Select(c => JsonEncodedText.Encode(c.Name))
+            .ToArray();
         _streamWriter.WriteStartArray();
         return Task.CompletedTask;
     }
@@ -87,7 +112,7 @@ internal sealed class JsonOutput : RowsOutput, IDisposable
                 jsonWriter.WriteNumberValue(value.AsNumericUnsafe);
                 break;
             case DataType.String:
-                jsonWriter.WriteStringValue(value.AsString);
+                jsonWriter.WriteStringValue(value.AsStringSpanUnsafe);
                 break;
             case DataType.Boolean:
                 jsonWriter.WriteBooleanValue(value.AsBoolean);
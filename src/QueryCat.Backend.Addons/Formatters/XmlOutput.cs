@@ -2,12 +2,13 @@ using System.Globalization;
 using System.Xml;
 using Microsoft.Extensions.Logging;
 using QueryCat.Backend.Core;
+using QueryCat.Backend.Core.Data;
 using QueryCat.Backend.Core.Types;
 using QueryCat.Backend.Storage;
 
 namespace QueryCat.Backend.Addons.Formatters;
 
-internal sealed class XmlOutput : RowsOutput, IDisposable, IAsyncDisposable
+internal sealed class XmlOutput : RowsOutput, IRowsOutputBatch, IDisposable, IAsyncDisposable
 {
     private const string RootTagName = "FRAME";
     private const string RowTagName = "ROW";
@@ -48,6 +49,23 @@ internal sealed class XmlOutput : RowsOutput, IDisposable, IAsyncDisposable
 
     /// <inheritdoc />
     protected override ValueTask<ErrorCode> OnWriteAsync(VariantValue[] values, CancellationToken cancellationToken = default)
+    {
+        WriteRow(values);
+        return ValueTask.FromResult(ErrorCode.OK);
+    }
+
+    /// <inheritdoc />
+    protected override ValueTask<ErrorCode> OnWriteBatchAsync(IReadOnlyList<VariantValue[]> rows,
+        CancellationToken cancellationToken = default)
+    {
+        for (var i = 0; i < rows.Count; i++)
+        {
+            WriteRow(rows[i]);
+        }
+        return ValueTask.FromResult(ErrorCode.OK);
+    }
+
+    private void WriteRow(VariantValue[] values)
     {
         _xmlWriter.WriteStartElement(RowTagName);
         var columns = QueryContext.QueryInfo.Columns;
@@ -85,8 +103,6 @@ internal sealed class XmlOutput : RowsOutput, IDisposable, IAsyncDisposable
             _xmlWriter.WriteEndElement();
         }
         _xmlWriter.WriteEndElement(); // RowTagName.
-
-        return ValueTask.FromResult(ErrorCode.OK);
     }
 
     /// <inheritdoc />
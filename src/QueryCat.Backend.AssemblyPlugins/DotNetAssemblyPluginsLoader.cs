@@ -1,3 +1,4 @@
+using System.Collections.Concurrent;
 using System.Reflection;
 using System.Text;
 using Microsoft.Extensions.Logging;
@@ -5,6 +6,7 @@ using QueryCat.Backend.Core;
 using QueryCat.Backend.Core.Execution;
 using QueryCat.Backend.Core.Functions;
 using QueryCat.Backend.Core.Plugins;
+using QueryCat.Backend.Core.Types;
 
 namespace QueryCat.Backend.AssemblyPlugins;
 
@@ -33,6 +35,77 @@ public class DotNetAssemblyPluginsLoader : PluginsLoader, IDisposable
         }
     }
 
+    /// <summary>
+    /// The functions manager wrapper that collects the functions registered by plugin.
+    /// </summary>
+    private sealed class PluginFunctionsManager : IFunctionsManager
+    {
+        private readonly IFunctionsManager _functionsManager;
+        private readonly bool _passthrough;
+
+        public List<IFunction> Functions { get; } = new();
+
+        /// <inheritdoc />
+        public FunctionsFactory Factory => _functionsManager.Factory;
+
+        public PluginFunctionsManager(IFunctionsManager functionsManager, bool passthrough)
+        {
+            _functionsManager = functionsManager;
+            _passthrough = passthrough;
+        }
+
+        /// <inheritdoc />
+        public IFunction? ResolveUri(string uri) => _functionsManager.ResolveUri(uri);
+
+        /// <inheritdoc />
+        public void RegisterFunction(IFunction function)
+        {
+            Functions.Add(function);
+            if (_passthrough)
+            {
+                _functionsManager.RegisterFunction(function);
+            }
+        }
+
+        /// <inheritdoc />
+        public IFunction[] FindByName(string name, FunctionCallArgumentsTypes? functionArgumentsTypes = null)
+            => _functionsManager.FindByName(name, functionArgumentsTypes);
+
+        /// <inheritdoc />
+        public IEnumerable<IFunction> GetFunctions() => _functionsManager.GetFunctions();
+
+        /// <inheritdoc />
+        public ValueTask<VariantValue> CallFunctionAsync(
+            IFunction function,
+            IExecutionThread executionThread,
+            FunctionCallArguments callArguments,
+            CancellationToken cancellationToken = default)
+            => _functionsManager.CallFunctionAsync(function, executionThread, callArguments, cancellationToken);
+    }
+
+    /// <summary>
+    /// The function call wrapper that loads plugin only on the first call.
+    /// </summary>
+    private sealed class FunctionCallPluginWrapperLazy
+    {
+        private readonly DotNetAssemblyPluginsLoader _loader;
+        private readonly string _pluginFile;
+        private readonly string _signature;
+
+        public FunctionCallPluginWrapperLazy(DotNetAssemblyPluginsLoader loader, string pluginFile, string signature)
+        {
+            _loader = loader;
+            _pluginFile = pluginFile;
+            _signature = signature;
+        }
+
+        internal async ValueTask<VariantValue> FunctionDelegateCallAsync(IExecutionThread thread, CancellationToken cancellationToken)
+        {
+            var function = await _loader.GetLazyPluginFunctionAsync(_pluginFile, _signature, cancellationToken);
+            return await FunctionCaller.CallAsync(function, thread, cancellationToken);
+        }
+    }
+
     private readonly Dictionary<string, AssemblyContext> _rawAssembliesCache = new(); // Not loaded yet assemblies.
     private readonly Dictionary<string, Assembly> _loadedFromCacheAssemblies = new(); // Assemblies loaded from cache.
     private readonly IFunctionsManager _functionsManager;
@@ -41,6 +114,11 @@ public class DotNetAssemblyPluginsLoader : PluginsLoader, IDisposable
     private readonly HashSet<string> _domainLoadedAssemblies;
     private readonly Queue<MethodBase> _loadMethodsQueue = new();
 
+    // Lazy loading.
+    private readonly PluginManifestStorage? _manifestStorage;
+    private readonly ConcurrentDictionary<string, Dictionary<string, IFunction>> _lazyPluginsFunctions = new(); // file-signature-function.
+    private readonly SemaphoreSlim _lazyLoadSemaphore = new(1, 1);
+
     private readonly ILogger _logger = Application.LoggerFactory.CreateLogger(nameof(DotNetAssemblyPluginsLoader));
 
     private static readonly string[] _monikerDirectories =
@@ -71,10 +149,15 @@ public class DotNetAssemblyPluginsLoader : PluginsLoader, IDisposable
     public DotNetAssemblyPluginsLoader(
         IFunctionsManager functionsManager,
         IExecutionThread executionThread,
-        IEnumerable<string> pluginDirectories) : base(pluginDirectories)
+        IEnumerable<string> pluginDirectories,
+        string? manifestCacheDirectory = null) : base(pluginDirectories)
     {
         _functionsManager = functionsManager;
         _executionThread = executionThread;
+        if (!string.IsNullOrEmpty(manifestCacheDirectory))
+        {
+            _manifestStorage = new PluginManifestStorage(manifestCacheDirectory);
+        }
         AppDomain.CurrentDomain.AssemblyResolve += CurrentDomainOnAssemblyResolve;
 
         _domainLoadedAssemblies =
@@ -140,25 +223,31 @@ public class DotNetAssemblyPluginsLoader : PluginsLoader, IDisposable
     public override async Task<int> LoadAsync(PluginsLoadingOptions options, CancellationToken cancellationToken = default)
     {
         var loadedCount = 0;
+        var pluginAssemblies = new List<(string PluginFile, Assembly Assembly)>();
 
         foreach (var pluginFile in GetPluginFiles(options))
         {
-            _logger.LogDebug("Load plugin file '{PluginFile}'.", pluginFile);
-            var strategies = GetLoadStrategies(pluginFile);
-            foreach (var strategy in strategies)
+            if (TryRegisterFromManifest(pluginFile))
             {
-                var assembly = await LoadWithStrategyAsync(strategy, Path.GetFileName(pluginFile), cancellationToken);
-                if (assembly != null)
-                {
-                    _loadedAssemblies.Add(assembly);
-                    _logger.LogDebug("Loaded plugin target '{PluginFile}' with strategy {Strategy}.", pluginFile, strategy.GetType().Name);
-                    loadedCount++;
-                    break;
-                }
+                loadedCount++;
+                continue;
+            }
+
+            var assembly = await LoadPluginFileAsync(pluginFile, cancellationToken);
+            if (assembly != null)
+            {
+                pluginAssemblies.Add((pluginFile, assembly));
+                loadedCount++;
             }
         }
 
-        await RegisterFunctionsAsync(cancellationToken);
+        foreach (var pluginAssembly in pluginAssemblies)
+        {
+            var functionsManager = new PluginFunctionsManager(_functionsManager, passthrough: true);
+            await RegisterFromAssemblyAsync(pluginAssembly.Assembly, functionsManager, cancellationToken);
+            SaveManifest(pluginAssembly.PluginFile, functionsManager.Functions,
+                hasLoadCallback: GetRegistrationType(pluginAssembly.Assembly)?.GetMethod(OnLoadMethodName) != null);
+        }
         if (!options.SkipLoadingCallbackCall)
         {
             await CallOnLoadAsync(cancellationToken);
@@ -178,6 +267,23 @@ public class DotNetAssemblyPluginsLoader : PluginsLoader, IDisposable
         }
     }
 
+    private async Task<Assembly?> LoadPluginFileAsync(string pluginFile, CancellationToken cancellationToken)
+    {
+        _logger.LogDebug("Load plugin file '{PluginFile}'.", pluginFile);
+        var strategies = GetLoadStrategies(pluginFile);
+        foreach (var strategy in strategies)
+        {
+            var assembly = await LoadWithStrategyAsync(strategy, Path.GetFileName(pluginFile), cancellationToken);
+            if (assembly != null)
+            {
+                _loadedAssemblies.Add(assembly);
+                _logger.LogDebug("Loaded plugin target '{PluginFile}' with strategy {Strategy}.", pluginFile, strategy.GetType().Name);
+                return assembly;
+            }
+        }
+        return null;
+    }
+
     private async Task<Assembly?> LoadWithStrategyAsync(
         IPluginLoadStrategy strategy,
         string pluginFileName,
@@ -326,19 +432,14 @@ public class DotNetAssemblyPluginsLoader : PluginsLoader, IDisposable
         return true;
     }
 
-    private async Task RegisterFunctionsAsync(CancellationToken cancellationToken)
-    {
-        foreach (var pluginAssembly in _loadedAssemblies)
-        {
-            await RegisterFromAssemblyAsync(pluginAssembly, cancellationToken);
-        }
-    }
-
-    private async Task RegisterFromAssemblyAsync(Assembly assembly, CancellationToken cancellationToken)
+    private async Task RegisterFromAssemblyAsync(
+        Assembly assembly,
+        IFunctionsManager functionsManager,
+        CancellationToken cancellationToken)
     {
         // If there is class Registration with RegisterFunctions method - call it instead. Use reflection otherwise.
         // Fast path.
-        var registerType = assembly.GetType(assembly.GetName().Name + $".{RegistrationClassName}");
+        var registerType = GetRegistrationType(assembly);
         if (registerType != null)
         {
             // static void RegisterFunctions(IFunctionsManager functionsManager).
@@ -346,7 +447,7 @@ public class DotNetAssemblyPluginsLoader : PluginsLoader, IDisposable
             if (registerMethod != null)
             {
                 _logger.LogDebug("Register using '{ClassName}' class.", RegistrationClassName);
-                registerMethod.Invoke(null, [_functionsManager]);
+                registerMethod.Invoke(null, [functionsManager]);
             }
 
             // static Task OnLoadAsync(IExecutionThread executionThread, CancellationToken cancellationToken).
@@ -362,14 +463,17 @@ public class DotNetAssemblyPluginsLoader : PluginsLoader, IDisposable
             _logger.LogDebug("Register using types search method.");
             foreach (var type in assembly.GetTypes())
             {
-                var functions = _functionsManager.Factory.CreateFromType(type);
-                _functionsManager.RegisterFunctions(functions);
+                var functions = functionsManager.Factory.CreateFromType(type);
+                functionsManager.RegisterFunctions(functions);
             }
         }
 
         await OnPluginLoadedAsync(assembly, registerType, cancellationToken);
     }
 
+    private static Type? GetRegistrationType(Assembly assembly)
+        => assembly.GetType(assembly.GetName().Name + $".{RegistrationClassName}");
+
     /// <summary>
     /// The method is called after plugin load and registration.
     /// </summary>
@@ -382,6 +486,127 @@ public class DotNetAssemblyPluginsLoader : PluginsLoader, IDisposable
         return Task.CompletedTask;
     }
 
+    #region Lazy loading
+
+    /*
+     * If the plugin has the valid manifest, its functions are registered using signatures from it. The
+     * assembly is loaded only on the first call of any plugin function. Plugins with aggregate
+     * functions are always loaded, because aggregate function cannot be called using the wrapper.
+     * Plugins with OnLoadAsync callback are always loaded too, because the callback must be called
+     * on startup even if no plugin function is called.
+     */
+
+    private bool TryRegisterFromManifest(string pluginFile)
+    {
+        PluginManifest? manifest;
+        try
+        {
+            if (_manifestStorage == null || !_manifestStorage.TryGet(pluginFile, out manifest))
+            {
+                return false;
+            }
+        }
+        catch (Exception e)
+        {
+            _logger.LogWarning(e, "Cannot read plugin manifest.");
+            return false;
+        }
+        if (manifest.Functions.Count == 0 || manifest.HasLoadCallback || manifest.Functions.Any(f => f.IsAggregate))
+        {
+            return false;
+        }
+
+        _logger.LogDebug("Register plugin file '{PluginFile}' functions from manifest.", pluginFile);
+        foreach (var function in manifest.Functions)
+        {
+            var wrapper = new FunctionCallPluginWrapperLazy(this, pluginFile, function.Signature);
+            var internalFunction = _functionsManager.Factory.CreateFromSignature(
+                function.Signature,
+                wrapper.FunctionDelegateCallAsync,
+                new FunctionMetadata
+                {
+                    Description = function.Description,
+                    IsSafe = function.IsSafe,
+                    Formatters = function.Formatters ?? [],
+                });
+            _functionsManager.RegisterFunction(internalFunction);
+        }
+        return true;
+    }
+
+    private void SaveManifest(string pluginFile, IReadOnlyList<IFunction> functions, bool hasLoadCallback)
+    {
+        if (_manifestStorage == null || functions.Count == 0 || functions.Any(f => f.IsAggregate))
+        {
+            return;
+        }
+
+        try
+        {
+            _manifestStorage.Save(pluginFile, functions.Select(f => new PluginManifestFunction(
+                FunctionFormatter.GetSignature(f),
+                f.Description,
+                f.IsSafe,
+                f.IsAggregate,
+                f.Formatters)), hasLoadCallback);
+        }
+        catch (Exception e)
+        {
+            _logger.LogWarning(e, "Cannot write plugin manifest.");
+        }
+    }
+
+    private async ValueTask<IFunction> GetLazyPluginFunctionAsync(
+        string pluginFile,
+        string signature,
+        CancellationToken cancellationToken)
+    {
+        if (!_lazyPluginsFunctions.TryGetValue(pluginFile, out var functions))
+        {
+            await _lazyLoadSemaphore.WaitAsync(cancellationToken);
+            try
+            {
+                if (!_lazyPluginsFunctions.TryGetValue(pluginFile, out functions))
+                {
+                    functions = await LoadPluginLazyAsync(pluginFile, cancellationToken);
+                    _lazyPluginsFunctions[pluginFile] = functions;
+                }
+            }
+            finally
+            {
+                _lazyLoadSemaphore.Release();
+            }
+        }
+
+        if (!functions.TryGetValue(signature, out var function))
+        {
+            throw new PluginException(string.Format(Resources.Errors.CannotFindPluginFunction, signature, pluginFile));
+        }
+        return function;
+    }
+
+    private async Task<Dictionary<string, IFunction>> LoadPluginLazyAsync(string pluginFile, CancellationToken cancellationToken)
+    {
+        var assembly = await LoadPluginFileAsync(pluginFile, cancellationToken);
+        if (assembly == null)
+        {
+            throw new PluginException(string.Format(Resources.Errors.CannotFindPluginDll, pluginFile));
+        }
+
+        // The functions have been already registered with the manifest, so just collect them.
+        var functionsManager = new PluginFunctionsManager(_functionsManager, passthrough: false);
+        await RegisterFromAssemblyAsync(assembly, functionsManager, cancellationToken);
+
+        var functions = new Dictionary<string, IFunction>();
+        foreach (var function in functionsManager.Functions)
+        {
+            functions[FunctionFormatter.GetSignature(function)] = function;
+        }
+        return functions;
+    }
+
+    #endregion
+
     private static async Task<string> FindTargetFrameworkDirectoryAsync(IPluginLoadStrategy pluginLoadStrategy,
         CancellationToken cancellationToken)
     {
@@ -409,10 +634,12 @@ public class DotNetAssemblyPluginsLoader : PluginsLoader, IDisposable
     {
         if (disposing)
         {
+            AppDomain.CurrentDomain.AssemblyResolve -= CurrentDomainOnAssemblyResolve;
             foreach (var value in _rawAssembliesCache.Values)
             {
                 value.Dispose();
             }
+            _lazyLoadSemaphore.Dispose();
         }
     }
 
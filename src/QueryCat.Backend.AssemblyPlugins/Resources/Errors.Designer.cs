@@ -56,5 +56,11 @@ namespace QueryCat.Backend.AssemblyPlugins.Resources {
                 return ResourceManager.GetString("CannotFindPluginDll", resourceCulture);
             }
         }
+        
+        internal static string CannotFindPluginFunction {
+            get {
+                return ResourceManager.GetString("CannotFindPluginFunction", resourceCulture);
+            }
+        }
     }
 }
@@ -0,0 +1,29 @@
+using QueryCat.Backend.Core.Types;
+
+namespace QueryCat.Backend.Core.Data;
+
+/// <summary>
+/// Rows input that can look up rows for several key values at once. It is used to reduce
+/// round trips for the remote sources. For example, the query "SELECT * FROM source() WHERE id IN (1, 2, 3)"
+/// can be executed with one lookup instead of three reads with "id = 1", "id = 2" and "id = 3" conditions.
+/// </summary>
+public interface IRowsInputKeysBatch : IRowsInputKeys
+{
+    /// <summary>
+    /// Max number of key values within one lookup. 0 means no limit.
+    /// </summary>
+    int MaxBatchSize { get; }
+
+    /// <summary>
+    /// Look up rows by key values. Other key column values that were set before the call must be applied
+    /// too. The method can be called concurrently, so the implementation must not change the input state.
+    /// </summary>
+    /// <param name="columnIndex">Key column index. The key operation is always equals.</param>
+    /// <param name="keys">Distinct not null key values.</param>
+    /// <param name="cancellationToken">Cancellation token.</param>
+    /// <returns>Found rows tagged by key value.</returns>
+    ValueTask<IReadOnlyList<KeyedRow>> ReadByKeysAsync(
+        int columnIndex,
+        IReadOnlyList<VariantValue> keys,
+        CancellationToken cancellationToken = default);
+}
@@ -0,0 +1,19 @@
+using QueryCat.Backend.Core.Types;
+
+namespace QueryCat.Backend.Core.Data;
+
+/// <summary>
+/// Rows output that can write several rows at once. It is used to reduce per-row call and flush
+/// overhead on bulk writes, for example "INSERT INTO 'file.csv' SELECT * FROM source()".
+/// </summary>
+public interface IRowsOutputBatch : IRowsOutput
+{
+    /// <summary>
+    /// Write rows. The caller reuses the rows arrays after the call, so the implementation
+    /// must not keep references to them.
+    /// </summary>
+    /// <param name="rows">Rows values to write.</param>
+    /// <param name="cancellationToken">Cancellation token.</param>
+    /// <returns>Error code.</returns>
+    ValueTask<ErrorCode> WriteBatchAsync(IReadOnlyList<VariantValue[]> rows, CancellationToken cancellationToken = default);
+}
@@ -0,0 +1,15 @@
+namespace QueryCat.Backend.Core.Data;
+
+/// <summary>
+/// Rows output that applies the written rows only if the write has been completed. For example,
+/// the file is replaced only if all source rows have been written. If the output is closed
+/// without the commit, the written rows are discarded.
+/// </summary>
+public interface IRowsOutputCommit : IRowsOutput
+{
+    /// <summary>
+    /// Mark the write as completed successfully. It must be called after the last row has been
+    /// written and before the output close.
+    /// </summary>
+    void Commit();
+}
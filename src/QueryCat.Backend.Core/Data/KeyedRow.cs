@@ -0,0 +1,28 @@
+using QueryCat.Backend.Core.Types;
+
+namespace QueryCat.Backend.Core.Data;
+
+/// <summary>
+/// Row values found by the key value. It is returned by <see cref="IRowsInputKeysBatch" />.
+/// </summary>
+public readonly struct KeyedRow
+{
+    /// <summary>
+    /// Key value the row was found for.
+    /// </summary>
+    public VariantValue Key { get; }
+
+    /// <summary>
+    /// Row values. The length must match the rows input columns count.
+    /// </summary>
+    public VariantValue[] Values { get; }
+
+    public KeyedRow(VariantValue key, VariantValue[] values)
+    {
+        Key = key;
+        Values = values;
+    }
+
+    /// <inheritdoc />
+    public override string ToString() => $"{Key}: {string.Join(", ", Values)}";
+}
@@ -1,3 +1,4 @@
+using QueryCat.Backend.Core.Functions;
 using QueryCat.Backend.Core.Types;
 
 namespace QueryCat.Backend.Core.Execution;
@@ -30,11 +31,22 @@ public interface IExecutionStack : IEnumerable<VariantValue>
     /// </summary>
     int FrameLength { get; }
 
+    /// <summary>
+    /// The cache of the function call site the current frame has been created for.
+    /// </summary>
+    FunctionCallSiteCache? CallSiteCache => null;
+
     /// <summary>
     /// Create new frame.
     /// </summary>
     ExecutionStackFrame CreateFrame();
 
+    /// <summary>
+    /// Create new frame for the function call site.
+    /// </summary>
+    /// <param name="callSiteCache">Function call site cache.</param>
+    ExecutionStackFrame CreateFrame(FunctionCallSiteCache callSiteCache) => CreateFrame();
+
     /// <summary>
     /// Close current frame.
     /// </summary>
@@ -0,0 +1,47 @@
+using System.Diagnostics.CodeAnalysis;
+using QueryCat.Backend.Core.Data;
+using QueryCat.Backend.Core.Types;
+
+namespace QueryCat.Backend.Core.Fetch;
+
+/// <summary>
+/// Implements <see cref="IRowsInputKeysBatch" /> from enumerable. The source returns the objects
+/// for several key values at once, the rows are tagged by the key column value.
+/// </summary>
+/// <typeparam name="TClass">Base enumerable class.</typeparam>
+public abstract class EnumerableKeysBatchRowsInput<[DynamicallyAccessedMembers(DynamicallyAccessedMemberTypes.PublicProperties)] TClass>
+    : EnumerableRowsInput<TClass>, IRowsInputKeysBatch where TClass : class
+{
+    /// <inheritdoc />
+    public virtual int MaxBatchSize => 0;
+
+    /// <inheritdoc />
+    public async ValueTask<IReadOnlyList<KeyedRow>> ReadByKeysAsync(
+        int columnIndex,
+        IReadOnlyList<VariantValue> keys,
+        CancellationToken cancellationToken = default)
+    {
+        var data = await GetDataByKeysAsync(Columns[columnIndex].Name, keys, cancellationToken);
+        var rows = new List<KeyedRow>();
+        foreach (var item in data)
+        {
+            var values = GetValues(item);
+            rows.Add(new KeyedRow(values[columnIndex], values));
+        }
+        return rows;
+    }
+
+    /// <summary>
+    /// Return the data for the key values. Other key column values can be got with
+    /// <see cref="KeysRowsInput.GetKeyColumnValue" />. The method can be called concurrently,
+    /// so it must not change the input state.
+    /// </summary>
+    /// <param name="keyColumnName">Key column name.</param>
+    /// <param name="keys">Distinct not null key values.</param>
+    /// <param name="cancellationToken">Cancellation token.</param>
+    /// <returns>Objects.</returns>
+    protected abstract Task<IEnumerable<TClass>> GetDataByKeysAsync(
+        string keyColumnName,
+        IReadOnlyList<VariantValue> keys,
+        CancellationToken cancellationToken = default);
+}
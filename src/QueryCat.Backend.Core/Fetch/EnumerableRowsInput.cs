@@ -134,6 +134,21 @@ public abstract class EnumerableRowsInput<[DynamicallyAccessedMembers(Dynamicall
         return Task.CompletedTask;
     }
 
+    /// <summary>
+    /// Get all columns values of the object.
+    /// </summary>
+    /// <param name="item">Object.</param>
+    /// <returns>Values.</returns>
+    private protected VariantValue[] GetValues(TClass item)
+    {
+        var values = new VariantValue[Columns.Length];
+        for (var i = 0; i < values.Length; i++)
+        {
+            values[i] = _builder.GetValue(i, item);
+        }
+        return values;
+    }
+
     /// <summary>
     /// Return the data as enumerable.
     /// </summary>
@@ -1,3 +1,4 @@
+using System.Diagnostics;
 using System.Runtime.CompilerServices;
 using Microsoft.Extensions.Logging;
 
@@ -20,6 +21,86 @@ public class Fetcher<TClass> where TClass : class
     /// </summary>
     public int PageStart { get; set; }
 
+    /// <summary>
+    /// Number of pages to request concurrently for offset/limit and paged fetch. The items are still
+    /// returned in order. 1 disables read ahead.
+    /// </summary>
+    public int ReadAheadPages { get; set; } = 1;
+
+    /// <summary>
+    /// Pages beyond this number of items are not requested ahead, they are requested one by one only
+    /// if the consumer needs more items. It is usually set from the query limit.
+    /// </summary>
+    public long? MaxReadAheadItems { get; set; }
+
+    /// <summary>
+    /// Max limit for adaptive offset/limit fetch. If set, the limit grows while the source responds
+    /// faster than <see cref="AdaptiveLimitTargetLatency" /> and shrinks otherwise.
+    /// </summary>
+    public int? MaxAdaptiveLimit { get; set; }
+
+    /// <summary>
+    /// The target response time for adaptive limit.
+    /// </summary>
+    public TimeSpan AdaptiveLimitTargetLatency { get; set; } = TimeSpan.FromSeconds(1);
+
+    private sealed class PageRequest : IDisposable
+    {
+        private readonly CancellationTokenSource _cancellationTokenSource;
+
+        /// <summary>
+        /// Offset or page number.
+        /// </summary>
+        public int Position { get; }
+
+        public int Limit { get; }
+
+        public TimeSpan Elapsed { get; private set; }
+
+        public Task<(IEnumerable<TClass> Items, bool HasMore)> Task { get; }
+
+        public PageRequest(
+            FetchLimitOffsetFlagDelegate action,
+            int position,
+            int limit,
+            CancellationToken cancellationToken)
+        {
+            Position = position;
+            Limit = limit;
+            _cancellationTokenSource = CancellationTokenSource.CreateLinkedTokenSource(cancellationToken);
+            Task = RunAsync(action, _cancellationTokenSource.Token);
+        }
+
+        private async Task<(IEnumerable<TClass> Items, bool HasMore)> RunAsync(
+            FetchLimitOffsetFlagDelegate action,
+            CancellationToken cancellationToken)
+        {
+            var timestamp = Stopwatch.GetTimestamp();
+            var result = await action(Limit, Position, cancellationToken);
+            Elapsed = Stopwatch.GetElapsedTime(timestamp);
+            return result;
+        }
+
+        public async Task CancelAsync()
+        {
+            try
+            {
+                await _cancellationTokenSource.CancelAsync();
+                await Task;
+            }
+            finally
+            {
+                Dispose();
+            }
+        }
+
+        /// <inheritdoc />
+        public void Dispose()
+        {
+            _cancellationTokenSource.Dispose();
+        }
+    }
+
     private readonly ILogger _logger = Application.LoggerFactory.CreateLogger(nameof(Fetcher<TClass>));
 
     /// <summary>
@@ -87,28 +168,11 @@ public class Fetcher<TClass> where TClass : class
     /// <param name="action">Action to get new data. It is called using new offset and limit values.</param>
     /// <param name="cancellationToken">The token to monitor for cancellation requests.</param>
     /// <returns>Async enumerable of objects.</returns>
-    public async IAsyncEnumerable<TClass> FetchLimitOffsetAsync(
+    public IAsyncEnumerable<TClass> FetchLimitOffsetAsync(
         FetchLimitOffsetFlagDelegate action,
-        [EnumeratorCancellation] CancellationToken cancellationToken = default)
+        CancellationToken cancellationToken = default)
     {
-        var offset = 0;
-        int fetchedCount;
-        bool hasMore;
-        do
-        {
-            _logger.LogDebug("Run with offset {Offset} and limit {Limit}.", offset, Limit);
-            var localOffset = offset;
-            var data = await action(Limit, localOffset, cancellationToken);
-            fetchedCount = 0;
-            foreach (var item in data.Items)
-            {
-                fetchedCount++;
-                yield return item;
-            }
-            offset += Limit;
-            hasMore = data.HasMore;
-        }
-        while (fetchedCount > 0 && hasMore);
+        return FetchPagesAsync(action, startPosition: 0, isPaged: false, cancellationToken);
     }
 
     /// <summary>
@@ -135,28 +199,12 @@ public class Fetcher<TClass> where TClass : class
     /// <param name="action">Action to get new data. It is called using new page values.</param>
     /// <param name="cancellationToken">The token to monitor for cancellation requests.</param>
     /// <returns>Async enumerable of objects.</returns>
-    public async IAsyncEnumerable<TClass> FetchPagedAsync(
+    public IAsyncEnumerable<TClass> FetchPagedAsync(
         FetchPagedFlagDelegate action,
-        [EnumeratorCancellation] CancellationToken cancellationToken = default)
+        CancellationToken cancellationToken = default)
     {
-        var page = PageStart;
-        int fetchedCount;
-        bool hasMore;
-        do
-        {
-            _logger.LogDebug("Run with page {Page} and limit {Limit}.", page, Limit);
-            var localPage = page;
-            var data = await action(localPage, Limit, cancellationToken);
-            fetchedCount = 0;
-            foreach (var item in data.Items)
-            {
-                fetchedCount++;
-                yield return item;
-            }
-            page++;
-            hasMore = data.HasMore;
-        }
-        while (fetchedCount > 0 && hasMore);
+        return FetchPagesAsync(
+            (limit, page, ct) => action(page, limit, ct), startPosition: PageStart, isPaged: true, cancellationToken);
     }
 
     /// <summary>
@@ -179,6 +227,115 @@ public class Fetcher<TClass> where TClass : class
         }, cancellationToken);
     }
 
+    /*
+     * The pages are requested ahead when the boundaries are known: for offset/limit fetch
+     * the next offset is the previous one plus limit, for paged fetch it is the next page number.
+     * The requests queue keeps the order of results. Once the last page is received (empty page or
+     * has more flag is false), the remaining speculative requests are cancelled.
+     */
+
+    private async IAsyncEnumerable<TClass> FetchPagesAsync(
+        FetchLimitOffsetFlagDelegate action,
+        int startPosition,
+        bool isPaged,
+        [EnumeratorCancellation] CancellationToken cancellationToken = default)
+    {
+        var readAheadPages = Math.Max(1, ReadAheadPages);
+        // The page boundaries must not change for paged fetch.
+        var isAdaptive = !isPaged && MaxAdaptiveLimit.HasValue;
+        var maxLimit = MaxAdaptiveLimit ?? Limit;
+        var limit = Limit;
+        var nextPosition = startPosition;
+        long requestedItems = 0;
+        var requests = new Queue<PageRequest>();
+
+        try
+        {
+            while (true)
+            {
+                while (requests.Count == 0
+                    || (requests.Count < readAheadPages
+                        && (!MaxReadAheadItems.HasValue || requestedItems < MaxReadAheadItems.Value)))
+                {
+                    _logger.LogDebug("Run with {PositionType} {Position} and limit {Limit}.",
+                        isPaged ? "page" : "offset", nextPosition, limit);
+                    requests.Enqueue(new PageRequest(action, nextPosition, limit, cancellationToken));
+                    nextPosition += isPaged ? 1 : limit;
+                    requestedItems += limit;
+                }
+
+                var request = requests.Dequeue();
+                (IEnumerable<TClass> Items, bool HasMore) data;
+                try
+                {
+                    data = await request.Task;
+                }
+                finally
+                {
+                    request.Dispose();
+                }
+                var fetchedCount = 0;
+                foreach (var item in data.Items)
+                {
+                    fetchedCount++;
+                    yield return item;
+                }
+                if (fetchedCount == 0 || !data.HasMore)
+                {
+                    yield break;
+                }
+
+                if (isAdaptive)
+                {
+                    if (fetchedCount < request.Limit)
+                    {
+                        // The source has its own page size limit. Request the following items again with it.
+                        maxLimit = limit = fetchedCount;
+                        await CancelRequestsAsync(requests);
+                        nextPosition = request.Position + fetchedCount;
+                        requestedItems = nextPosition - startPosition;
+                    }
+                    else
+                    {
+                        limit = GetAdaptiveLimit(limit, maxLimit, request.Elapsed);
+                    }
+                }
+            }
+        }
+        finally
+        {
+            await CancelRequestsAsync(requests);
+        }
+    }
+
+    private int GetAdaptiveLimit(int limit, int maxLimit, TimeSpan elapsed)
+    {
+        if (elapsed < AdaptiveLimitTargetLatency / 2)
+        {
+            return Math.Min(limit * 2, maxLimit);
+        }
+        if (elapsed > AdaptiveLimitTargetLatency * 2)
+        {
+            return Math.Max(limit / 2, 1);
+        }
+        return limit;
+    }
+
+    private async Task CancelRequestsAsync(Queue<PageRequest> requests)
+    {
+        while (requests.TryDequeue(out var request))
+        {
+            try
+            {
+                await request.CancelAsync();
+            }
+            catch (Exception e)
+            {
+                _logger.LogDebug(e, "Speculative request with position {Position} has failed.", request.Position);
+            }
+        }
+    }
+
     /// <summary>
     /// Fetch until specific condition. If the end of iteration is reach the action must
     /// return hasMore flag <c>true</c>.
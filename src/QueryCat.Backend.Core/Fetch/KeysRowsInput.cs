@@ -71,6 +71,7 @@ public abstract class KeysRowsInput : RowsInput, IDisposable
         if (queryLimit.HasValue)
         {
             fetcher.Limit = Math.Min((int)queryLimit.Value, fetcher.Limit);
+            fetcher.MaxReadAheadItems = queryLimit.Value;
         }
         return fetcher;
     }
@@ -0,0 +1,57 @@
+namespace QueryCat.Backend.Core.Functions;
+
+/// <summary>
+/// The storage for preprocessed function arguments (compiled regular expressions, normalized formats, etc).
+/// Every function call site within the query has its own instance, and it lives while the query is running.
+/// The value is recreated only when the key arguments change, so for invariant arguments
+/// the preprocessing is done once.
+/// </summary>
+public sealed class FunctionCallSiteCache
+{
+    private sealed class Entry(object key, object? value)
+    {
+        public object Key { get; } = key;
+
+        public object? Value { get; } = value;
+    }
+
+    private Entry? _entry;
+
+    /// <summary>
+    /// Get the cached value for the key or create the new one using factory.
+    /// </summary>
+    /// <param name="key">Key, usually the function invariant arguments.</param>
+    /// <param name="factory">Factory to create the value.</param>
+    /// <typeparam name="TKey">Key type.</typeparam>
+    /// <typeparam name="TValue">Value type.</typeparam>
+    /// <returns>Cached or created value.</returns>
+    public TValue GetOrAdd<TKey, TValue>(TKey key, Func<TKey, TValue> factory) where TKey : notnull
+    {
+        var entry = _entry;
+        if (entry != null
+            && entry.Key is TKey entryKey
+            && EqualityComparer<TKey>.Default.Equals(entryKey, key)
+            && entry.Value is TValue entryValue)
+        {
+            return entryValue;
+        }
+
+        var value = factory.Invoke(key);
+        _entry = new Entry(key, value);
+        return value;
+    }
+
+    /// <summary>
+    /// Get the cached value for the key or create the new one using factory. If there is no
+    /// call site cache (for example, the function is called directly) the value is always created.
+    /// </summary>
+    /// <param name="cache">Instance of <see cref="FunctionCallSiteCache" /> or null.</param>
+    /// <param name="key">Key, usually the function invariant arguments.</param>
+    /// <param name="factory">Factory to create the value.</param>
+    /// <typeparam name="TKey">Key type.</typeparam>
+    /// <typeparam name="TValue">Value type.</typeparam>
+    /// <returns>Cached or created value.</returns>
+    public static TValue GetOrAdd<TKey, TValue>(FunctionCallSiteCache? cache, TKey key, Func<TKey, TValue> factory)
+        where TKey : notnull
+        => cache != null ? cache.GetOrAdd(key, factory) : factory.Invoke(key);
+}
@@ -0,0 +1,59 @@
+using System.Text.Json.Serialization;
+
+namespace QueryCat.Backend.Core.Plugins;
+
+/// <summary>
+/// Plugin manifest contains the information required to register plugin functions without
+/// the plugin loading. The manifest is valid while the plugin file hash is the same.
+/// </summary>
+internal sealed class PluginManifest
+{
+    /// <summary>
+    /// Plugin file SHA256 hash.
+    /// </summary>
+    [JsonPropertyName("hash")]
+    public string FileHash { get; set; } = string.Empty;
+
+    /// <summary>
+    /// Plugin file size. It is used for the fast check to avoid hash calculation.
+    /// </summary>
+    [JsonPropertyName("size")]
+    public long FileSize { get; set; }
+
+    /// <summary>
+    /// Plugin file last write time ticks (UTC). It is used for the fast check to avoid hash calculation.
+    /// </summary>
+    [JsonPropertyName("modifiedAt")]
+    public long FileModifiedAt { get; set; }
+
+    /// <summary>
+    /// The plugin has the load callback that must be called on startup, so it cannot be loaded lazily.
+    /// </summary>
+    [JsonPropertyName("onLoad")]
+    public bool HasLoadCallback { get; set; }
+
+    /// <summary>
+    /// Plugin functions.
+    /// </summary>
+    [JsonPropertyName("functions")]
+    public List<PluginManifestFunction> Functions { get; set; } = new();
+}
+
+/// <summary>
+/// Plugin function information.
+/// </summary>
+/// <param name="Signature">Function signature.</param>
+/// <param name="Description">Function description.</param>
+/// <param name="IsSafe">Is safe function.</param>
+/// <param name="IsAggregate">Is aggregate function.</param>
+/// <param name="Formatters">Formatters identifiers (file extensions and MIME types).</param>
+internal sealed record PluginManifestFunction(
+    [property: JsonPropertyName("sig")] string Signature,
+    [property: JsonPropertyName("desc")] string Description,
+    [property: JsonPropertyName("safe")] bool IsSafe,
+    [property: JsonPropertyName("agg")] bool IsAggregate,
+    [property: JsonPropertyName("fmts")] string[]? Formatters);
+
+[JsonSourceGenerationOptions(WriteIndented = false)]
+[JsonSerializable(typeof(PluginManifest))]
+internal partial class PluginManifestSourceGenerationContext : JsonSerializerContext;
@@ -0,0 +1,155 @@
+using System.Diagnostics.CodeAnalysis;
+using System.Security.Cryptography;
+using System.Text;
+using System.Text.Json;
+using Microsoft.Extensions.Logging;
+
+namespace QueryCat.Backend.Core.Plugins;
+
+/// <summary>
+/// Persistent storage of plugins manifests. Every plugin file has its own manifest file within the directory.
+/// The manifest file name is based on the plugin full path, so the plugins with the same name
+/// from different directories don't override each other.
+/// </summary>
+internal sealed class PluginManifestStorage
+{
+    private const string ManifestFileExtension = ".manifest.json";
+
+    // Functions cache files of the previous versions of Thrift plugins loader.
+    private const string LegacyCacheFilesPattern = "*.fcache.json";
+
+    private readonly string _directory;
+    private readonly ILogger _logger = Application.LoggerFactory.CreateLogger(nameof(PluginManifestStorage));
+    private bool _legacyCacheFilesRemoved;
+
+    public PluginManifestStorage(string directory)
+    {
+        _directory = directory;
+    }
+
+    /// <summary>
+    /// Try to get the valid manifest for the plugin file.
+    /// </summary>
+    /// <param name="pluginFile">Plugin file.</param>
+    /// <param name="manifest">Plugin manifest.</param>
+    /// <returns><c>True</c> if the manifest exists and valid, <c>false</c> otherwise.</returns>
+    public bool TryGet(string pluginFile, [NotNullWhen(true)] out PluginManifest? manifest)
+    {
+        manifest = null;
+        var manifestFile = GetManifestFile(pluginFile);
+        if (!File.Exists(manifestFile))
+        {
+            return false;
+        }
+
+        using (var manifestFileStream = File.OpenRead(manifestFile))
+        {
+            manifest = JsonSerializer.Deserialize(manifestFileStream,
+                PluginManifestSourceGenerationContext.Default.PluginManifest);
+        }
+        if (manifest == null)
+        {
+            return false;
+        }
+
+        // Fast path, the file has not been touched.
+        var fileInfo = new FileInfo(pluginFile);
+        if (manifest.FileSize == fileInfo.Length && manifest.FileModifiedAt == fileInfo.LastWriteTimeUtc.Ticks)
+        {
+            return true;
+        }
+
+        // The file has been touched, but probably the content is the same.
+        if (manifest.FileHash == ComputeFileHash(pluginFile))
+        {
+            manifest.FileSize = fileInfo.Length;
+            manifest.FileModifiedAt = fileInfo.LastWriteTimeUtc.Ticks;
+            Write(manifestFile, manifest);
+            return true;
+        }
+
+        _logger.LogDebug("Plugin file '{PluginFile}' has changed, remove manifest.", pluginFile);
+        File.Delete(manifestFile);
+        manifest = null;
+        return false;
+    }
+
+    /// <summary>
+    /// Create and save the plugin manifest.
+    /// </summary>
+    /// <param name="pluginFile">Plugin file.</param>
+    /// <param name="functions">Plugin functions.</param>
+    /// <param name="hasLoadCallback">The plugin has the load callback.</param>
+    public void Save(string pluginFile, IEnumerable<PluginManifestFunction> functions, bool hasLoadCallback = false)
+    {
+        var fileInfo = new FileInfo(pluginFile);
+        var manifest = new PluginManifest
+        {
+            FileHash = ComputeFileHash(pluginFile),
+            FileSize = fileInfo.Length,
+            FileModifiedAt = fileInfo.LastWriteTimeUtc.Ticks,
+            HasLoadCallback = hasLoadCallback,
+            Functions = functions.ToList(),
+        };
+        Directory.CreateDirectory(_directory);
+        RemoveLegacyCacheFiles();
+        Write(GetManifestFile(pluginFile), manifest);
+    }
+
+    private void RemoveLegacyCacheFiles()
+    {
+        if (_legacyCacheFilesRemoved)
+        {
+            return;
+        }
+        _legacyCacheFilesRemoved = true;
+
+        foreach (var cacheFile in Directory.EnumerateFiles(_directory, LegacyCacheFilesPattern))
+        {
+            try
+            {
+                File.Delete(cacheFile);
+            }
+            catch (Exception e) when (e is IOException or UnauthorizedAccessException)
+            {
+                _logger.LogDebug(e, "Cannot remove legacy cache file '{CacheFile}'.", cacheFile);
+            }
+        }
+    }
+
+    private static void Write(string manifestFile, PluginManifest manifest)
+    {
+        // Write into the temp file first, so the concurrent reader never gets the partially written manifest.
+        var tempFile = manifestFile + "." + Guid.NewGuid().ToString("N") + ".tmp";
+        try
+        {
+            using (var manifestFileStream = File.Create(tempFile))
+            {
+                JsonSerializer.Serialize(manifestFileStream, manifest,
+                    PluginManifestSourceGenerationContext.Default.PluginManifest);
+            }
+            File.Move(tempFile, manifestFile, overwrite: true);
+        }
+        finally
+        {
+            if (File.Exists(tempFile))
+            {
+                File.Delete(tempFile);
+            }
+        }
+    }
+
+    internal string GetManifestFile(string pluginFile)
+    {
+        var pluginName = PluginInfo.CreateFromUniversalName(pluginFile).Name;
+        var pathHash = SHA256.HashData(Encoding.UTF8.GetBytes(Path.GetFullPath(pluginFile)));
+        return Path.Combine(_directory,
+            $"{pluginName}-{Convert.ToHexString(pathHash, 0, 8)}{ManifestFileExtension}");
+    }
+
+    internal static string ComputeFileHash(string file)
+    {
+        using var stream = File.OpenRead(file);
+        return Convert.ToHexString(SHA256.HashData(stream));
+    }
+}
@@ -1,165 +1,110 @@
-using QueryCat.Backend.Core.Utils;
-
 namespace QueryCat.Backend.Core.Types;
 
 internal static class StringLikeEquals
 {
-    private static readonly SimpleObjectPool<List<char>> _listCharPool = new(
-        createFunc: () => new List<char>(),
-        beforeReturn: l => l.Clear()
-    );
-
     /// <summary>
-    /// Implements SQL LIKE pattern comparision.
+    /// Implements SQL LIKE pattern comparision. Supports "%", "_", "[abc]", "[a-c]" and "[^abc]".
+    /// The comparison is case-insensitive (invariant culture).
     /// </summary>
     /// <param name="pattern">"Like" pattern.</param>
     /// <param name="str">Target string.</param>
     /// <returns><c>True</c> if the target string matches the pattern, <c>false</c> otherwise.</returns>
     public static bool Equals(ReadOnlySpan<char> pattern, ReadOnlySpan<char> str)
     {
-        // Based on this: https://stackoverflow.com/questions/5417070/c-sharp-version-of-sql-like/8583383#8583383
-        bool isMatch = true,
-            isWildCardOn = false,
-            isCharWildCardOn = false,
-            isCharSetOn = false,
-            isNotCharSetOn = false,
-            endOfPattern = false;
-        var lastWildCard = -1;
         var patternIndex = 0;
-        var set = _listCharPool.Get();
-        var p = '\0';
+        var strIndex = 0;
+        // The pattern position after the last "%" and the string position it has been tried from.
+        var wildCardPatternIndex = -1;
+        var wildCardStrIndex = 0;
 
-        foreach (var c in str)
+        while (strIndex < str.Length)
         {
-            endOfPattern = patternIndex >= pattern.Length;
-            if (!endOfPattern)
+            if (patternIndex < pattern.Length && pattern[patternIndex] == '%')
             {
-                p = pattern[patternIndex];
-
-                if (!isWildCardOn && p == '%')
-                {
-                    lastWildCard = patternIndex;
-                    isWildCardOn = true;
-                    while (patternIndex < pattern.Length
-                           && pattern[patternIndex] == '%')
-                    {
-                        patternIndex++;
-                    }
-                    p = patternIndex >= pattern.Length ? '\0' : pattern[patternIndex];
-                }
-                else if (p == '_')
-                {
-                    isCharWildCardOn = true;
-                    patternIndex++;
-                }
-                else if (p == '[')
+                while (patternIndex < pattern.Length && pattern[patternIndex] == '%')
                 {
-                    if (pattern[++patternIndex] == '^')
-                    {
-                        isNotCharSetOn = true;
-                        patternIndex++;
-                    }
-                    else
-                    {
-                        isCharSetOn = true;
-                    }
-
-                    set.Clear();
-                    if (pattern[patternIndex + 1] == '-' && pattern[patternIndex + 3] == ']')
-                    {
-                        var start = char.ToUpper(pattern[patternIndex]);
-                        patternIndex += 2;
-                        var end = char.ToUpper(pattern[patternIndex]);
-                        if (start <= end)
-                        {
-                            for (char ci = start; ci <= end; ci++)
-                            {
-                                set.Add(ci);
-                            }
-                        }
-                        patternIndex++;
-                    }
-
-                    while (patternIndex < pattern.Length
-                           && pattern[patternIndex] != ']')
-                    {
-                        set.Add(pattern[patternIndex]);
-                        patternIndex++;
-                    }
                     patternIndex++;
                 }
+                wildCardPatternIndex = patternIndex;
+                wildCardStrIndex = strIndex;
+                continue;
             }
-
-            if (isWildCardOn)
+            if (patternIndex < pattern.Length
+                && MatchChar(pattern, patternIndex, str[strIndex], out var nextPatternIndex))
             {
-                if (char.ToUpper(c) == char.ToUpper(p))
-                {
-                    isWildCardOn = false;
-                    patternIndex++;
-                }
-            }
-            else if (isCharWildCardOn)
-            {
-                isCharWildCardOn = false;
+                patternIndex = nextPatternIndex;
+                strIndex++;
+                continue;
             }
-            else if (isCharSetOn || isNotCharSetOn)
+            // Backtrack: let the last "%" consume one more char.
+            if (wildCardPatternIndex > -1)
             {
-                var charMatch = set.Contains(char.ToUpper(c));
-                if ((isNotCharSetOn && charMatch) || (isCharSetOn && !charMatch))
-                {
-                    if (lastWildCard >= 0)
-                    {
-                        patternIndex = lastWildCard;
-                    }
-                    else
-                    {
-                        isMatch = false;
-                        break;
-                    }
-                }
-                isNotCharSetOn = isCharSetOn = false;
+                patternIndex = wildCardPatternIndex;
+                strIndex = ++wildCardStrIndex;
+                continue;
             }
-            else
+            return false;
+        }
+
+        while (patternIndex < pattern.Length && pattern[patternIndex] == '%')
+        {
+            patternIndex++;
+        }
+        return patternIndex == pattern.Length;
+    }
+
+    /// <summary>
+    /// Compare chars case-insensitively. The same rule must be used by <see cref="StringLikePattern" />.
+    /// </summary>
+    internal static bool CharEquals(char c1, char c2)
+        => c1 == c2 || char.ToUpperInvariant(c1) == char.ToUpperInvariant(c2);
+
+    private static bool MatchChar(ReadOnlySpan<char> pattern, int patternIndex, char c, out int nextPatternIndex)
+    {
+        var p = pattern[patternIndex];
+        if (p == '_')
+        {
+            nextPatternIndex = patternIndex + 1;
+            return true;
+        }
+        if (p == '[')
+        {
+            var setEnd = pattern[(patternIndex + 1)..].IndexOf(']');
+            if (setEnd > -1)
             {
-                if (char.ToUpper(c) == char.ToUpper(p))
-                {
-                    patternIndex++;
-                }
-                else
-                {
-                    if (lastWildCard >= 0)
-                    {
-                        patternIndex = lastWildCard;
-                    }
-                    else
-                    {
-                        isMatch = false;
-                        break;
-                    }
-                }
+                var set = pattern.Slice(patternIndex + 1, setEnd);
+                nextPatternIndex = patternIndex + setEnd + 2;
+                return MatchCharSet(set, c);
             }
         }
-        endOfPattern = patternIndex >= pattern.Length;
+        nextPatternIndex = patternIndex + 1;
+        return CharEquals(p, c);
+    }
 
-        if (isMatch && !endOfPattern)
+    private static bool MatchCharSet(ReadOnlySpan<char> set, char c)
+    {
+        var isNegative = set.Length > 0 && set[0] == '^';
+        if (isNegative)
         {
-            var isOnlyWildCards = true;
-            for (var i = patternIndex; i < pattern.Length; i++)
+            set = set[1..];
+        }
+
+        var upperChar = char.ToUpperInvariant(c);
+        var isMatch = false;
+        for (var i = 0; i < set.Length && !isMatch; i++)
+        {
+            if (i + 2 < set.Length && set[i + 1] == '-')
             {
-                if (pattern[i] != '%')
-                {
-                    isOnlyWildCards = false;
-                    break;
-                }
+                var start = char.ToUpperInvariant(set[i]);
+                var end = char.ToUpperInvariant(set[i + 2]);
+                isMatch = upperChar >= start && upperChar <= end;
+                i += 2;
             }
-            if (isOnlyWildCards)
+            else
             {
-                endOfPattern = true;
+                isMatch = CharEquals(set[i], c);
             }
         }
-
-        set.Clear();
-        _listCharPool.Return(set);
-        return isMatch && endOfPattern;
+        return isMatch != isNegative;
     }
 }
@@ -0,0 +1,107 @@
+namespace QueryCat.Backend.Core.Types;
+
+/// <summary>
+/// Preprocessed SQL LIKE pattern. The most common patterns ("abc", "abc%", "%abc", "%abc%")
+/// are matched with the simple string operations, the others fall back to <see cref="StringLikeEquals" />.
+/// </summary>
+internal sealed class StringLikePattern
+{
+    private enum MatchKind
+    {
+        Any,
+        Equals,
+        StartsWith,
+        EndsWith,
+        Contains,
+        Generic,
+    }
+
+    private readonly string _pattern;
+    private readonly string _literal;
+    private readonly MatchKind _kind;
+
+    /// <summary>
+    /// Source pattern.
+    /// </summary>
+    public string Pattern => _pattern;
+
+    public StringLikePattern(string pattern)
+    {
+        _pattern = pattern;
+        (_kind, _literal) = Analyze(pattern);
+    }
+
+    private static (MatchKind Kind, string Literal) Analyze(string pattern)
+    {
+        if (pattern.AsSpan().IndexOfAny('_', '[') > -1)
+        {
+            return (MatchKind.Generic, string.Empty);
+        }
+
+        var literal = pattern.AsSpan().Trim('%');
+        if (literal.IsEmpty)
+        {
+            return pattern.Length > 0 ? (MatchKind.Any, string.Empty) : (MatchKind.Equals, string.Empty);
+        }
+        if (literal.Contains('%'))
+        {
+            return (MatchKind.Generic, string.Empty);
+        }
+
+        var hasLeadingWildcard = pattern[0] == '%';
+        var hasTrailingWildcard = pattern[^1] == '%';
+        var kind = (hasLeadingWildcard, hasTrailingWildcard) switch
+        {
+            (false, false) => MatchKind.Equals,
+            (false, true) => MatchKind.StartsWith,
+            (true, false) => MatchKind.EndsWith,
+            (true, true) => MatchKind.Contains,
+        };
+        return (kind, literal.ToString());
+    }
+
+    /// <summary>
+    /// Check if the target string matches the pattern.
+    /// </summary>
+    /// <param name="str">Target string.</param>
+    /// <returns><c>True</c> if the target string matches the pattern, <c>false</c> otherwise.</returns>
+    public bool IsMatch(ReadOnlySpan<char> str) => _kind switch
+    {
+        MatchKind.Any => true,
+        MatchKind.Equals => str.Length == _literal.Length && EqualsIgnoreCase(str, _literal),
+        MatchKind.StartsWith => str.Length >= _literal.Length && EqualsIgnoreCase(str[.._literal.Length], _literal),
+        MatchKind.EndsWith => str.Length >= _literal.Length && EqualsIgnoreCase(str[^_literal.Length..], _literal),
+        MatchKind.Contains => ContainsIgnoreCase(str, _literal),
+        _ => StringLikeEquals.Equals(_pattern, str),
+    };
+
+    // The chars are compared the same way as in StringLikeEquals, so the result doesn't depend
+    // on whether the pattern is constant or not.
+
+    private static bool EqualsIgnoreCase(ReadOnlySpan<char> str, ReadOnlySpan<char> literal)
+    {
+        for (var i = 0; i < literal.Length; i++)
+        {
+            if (!StringLikeEquals.CharEquals(str[i], literal[i]))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static bool ContainsIgnoreCase(ReadOnlySpan<char> str, ReadOnlySpan<char> literal)
+    {
+        for (var i = 0; i <= str.Length - literal.Length; i++)
+        {
+            if (EqualsIgnoreCase(str[i..], literal))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /// <inheritdoc />
+    public override string ToString() => _pattern;
+}
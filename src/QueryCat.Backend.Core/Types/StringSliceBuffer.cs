@@ -0,0 +1,94 @@
+namespace QueryCat.Backend.Core.Types;
+
+/// <summary>
+/// Creates string values that reference the shared characters buffer instead of the
+/// separate string instances. It is used by rows inputs to avoid memory allocation for
+/// every text cell. Long strings are created as usual. Filled chunks are reused
+/// after <see cref="RetainedChunksCount" /> other chunks, so the slice is valid only while
+/// the current rows are processed and must be materialized to be kept longer.
+/// </summary>
+internal sealed class StringSliceBuffer
+{
+    private const int DefaultChunkSize = 0x8000;
+
+    /// <summary>
+    /// The number of filled chunks that are not reused yet.
+    /// </summary>
+    internal const int RetainedChunksCount = 3;
+
+    private readonly int _chunkSize;
+    private readonly int _maxSliceLength;
+    private readonly Queue<VariantValue.StringSliceChunk> _filledChunks = new(RetainedChunksCount + 1);
+    private VariantValue.StringSliceChunk _chunk;
+
+    /// <summary>
+    /// Constructor.
+    /// </summary>
+    /// <param name="chunkSize">Characters chunk size.</param>
+    public StringSliceBuffer(int chunkSize = DefaultChunkSize)
+    {
+        ArgumentOutOfRangeException.ThrowIfNegativeOrZero(chunkSize, nameof(chunkSize));
+        ArgumentOutOfRangeException.ThrowIfGreaterThan(chunkSize, VariantValue.StringSliceChunk.MaxSize, nameof(chunkSize));
+        _chunkSize = chunkSize;
+        _maxSliceLength = chunkSize / 8;
+        _chunk = new VariantValue.StringSliceChunk(_chunkSize);
+    }
+
+    /// <summary>
+    /// Create string value.
+    /// </summary>
+    /// <param name="value">Characters.</param>
+    /// <returns>String value.</returns>
+    public VariantValue Create(ReadOnlySpan<char> value)
+    {
+        if (value.IsEmpty)
+        {
+            return new VariantValue(string.Empty);
+        }
+        if (value.Length > _maxSliceLength)
+        {
+            return new VariantValue(value);
+        }
+
+        if (!_chunk.TryAppend(value, out var result))
+        {
+            _chunk = GetNextChunk();
+            _chunk.TryAppend(value, out result);
+        }
+        return result;
+    }
+
+    private VariantValue.StringSliceChunk GetNextChunk()
+    {
+        _filledChunks.Enqueue(_chunk);
+        if (_filledChunks.Count <= RetainedChunksCount)
+        {
+            return new VariantValue.StringSliceChunk(_chunkSize);
+        }
+
+        // The oldest chunk is reused, the values that still reference it become invalid.
+        var chunk = _filledChunks.Dequeue();
+        chunk.Reset();
+        return chunk;
+    }
+
+    /// <summary>
+    /// Try to create variant value from string. String values are created as slices.
+    /// </summary>
+    /// <param name="value">String value.</param>
+    /// <param name="targetType">Target type.</param>
+    /// <param name="variantValue">Out variant value.</param>
+    /// <returns><c>True</c> if created successfully, <c>false</c> otherwise.</returns>
+    public bool TryCreateFromString(
+        in ReadOnlySpan<char> value,
+        in DataType targetType,
+        out VariantValue variantValue)
+    {
+        if (targetType == DataType.String)
+        {
+            variantValue = Create(value);
+            return true;
+        }
+        return VariantValue.TryCreateFromString(value, targetType, out variantValue);
+    }
+}
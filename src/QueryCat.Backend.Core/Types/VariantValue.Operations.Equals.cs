@@ -107,12 +107,12 @@ public partial struct VariantValue
             {
                 DataType.String => (in VariantValue left, in VariantValue right) =>
                 {
-                    return new VariantValue(left.AsStringUnsafe == right.AsStringUnsafe);
+                    return new VariantValue(left.AsStringSpanUnsafe.SequenceEqual(right.AsStringSpanUnsafe));
                 },
                 DataType.Boolean or DataType.Integer or DataType.Numeric
                     => (in VariantValue left, in VariantValue right) =>
                     {
-                        return new VariantValue(left.AsStringUnsafe == right.AsString);
+                        return new VariantValue(left.AsStringSpanUnsafe.SequenceEqual(right.AsString.AsSpan()));
                     },
                 _ => BinaryNullDelegate,
             },
@@ -79,7 +79,7 @@ public partial struct VariantValue
             {
                 DataType.String => (in VariantValue left, in VariantValue right) =>
                 {
-                    return new VariantValue(string.CompareOrdinal(left.AsStringUnsafe, right.AsStringUnsafe) > 0);
+                    return new VariantValue(left.AsStringSpanUnsafe.SequenceCompareTo(right.AsStringSpanUnsafe) > 0);
                 },
                 _ => BinaryNullDelegate,
             },
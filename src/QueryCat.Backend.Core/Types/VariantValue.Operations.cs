@@ -408,8 +408,8 @@ public readonly partial struct VariantValue
 
     public static VariantValue Like(in VariantValue left, in VariantValue right, out ErrorCode errorCode)
     {
-        var pattern = right.AsString;
-        var str = left.AsString;
+        var pattern = right.Type == DataType.String ? right.AsStringSpanUnsafe : right.AsString.AsSpan();
+        var str = left.Type == DataType.String ? left.AsStringSpanUnsafe : left.AsString.AsSpan();
 
         errorCode = ErrorCode.OK;
         return new VariantValue(StringLikeEquals.Equals(pattern, str));
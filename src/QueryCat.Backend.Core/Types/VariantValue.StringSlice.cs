@@ -0,0 +1,116 @@
+namespace QueryCat.Backend.Core.Types;
+
+public partial struct VariantValue
+{
+    /*
+     * The string slice is the string value that references the part of the shared
+     * characters buffer (chunk) instead of the separate string instance. The offset and length
+     * are stored within the value union along with the chunk generation. The chunk is reused
+     * by the buffer after several other chunks have been filled, and the generation is incremented.
+     * Because of that the slice must be materialized if it is kept longer than the current row
+     * (rows frame, cache, hash keys, aggregate states). Access to the slice of the previous
+     * generation throws the exception instead of returning the wrong characters.
+     * The managed string is created only when it is requested.
+     */
+
+    /// <summary>
+    /// The characters buffer for string slices. Because it is also the data type object,
+    /// the value type is resolved without additional checks.
+    /// </summary>
+    internal sealed class StringSliceChunk : StringDataTypeObject
+    {
+        /// <summary>
+        /// Max chunk size. The offset and length are stored as 16-bit values.
+        /// </summary>
+        public const int MaxSize = 0x10000;
+
+        private readonly char[] _buffer;
+        private int _position;
+        private uint _generation;
+
+        /// <summary>
+        /// Free space length.
+        /// </summary>
+        public int Available => _buffer.Length - _position;
+
+        public StringSliceChunk(int size)
+        {
+            ArgumentOutOfRangeException.ThrowIfGreaterThan(size, MaxSize, nameof(size));
+            _buffer = new char[size];
+        }
+
+        /// <summary>
+        /// Copy the characters into the chunk and create the string slice value.
+        /// </summary>
+        /// <param name="value">Characters.</param>
+        /// <param name="result">String slice value.</param>
+        /// <returns><c>True</c> if there is enough space, <c>false</c> otherwise.</returns>
+        public bool TryAppend(ReadOnlySpan<char> value, out VariantValue result)
+        {
+            if (value.Length > Available || value.Length >= MaxSize)
+            {
+                result = Null;
+                return false;
+            }
+
+            value.CopyTo(_buffer.AsSpan(_position));
+            result = new VariantValue(
+                new TypeUnion(((long)_generation << 32) | ((long)_position << 16) | (uint)value.Length), this);
+            _position += value.Length;
+            return true;
+        }
+
+        /// <summary>
+        /// Start the new generation. All the slices created before become invalid.
+        /// </summary>
+        public void Reset()
+        {
+            _position = 0;
+            _generation++;
+        }
+
+        internal ReadOnlySpan<char> GetSpan(long value)
+        {
+            if ((uint)(value >> 32) != _generation)
+            {
+                throw new InvalidOperationException("The string slice buffer has been reused, the value must be materialized.");
+            }
+            return _buffer.AsSpan((int)((value >> 16) & 0xFFFF), (int)(value & 0xFFFF));
+        }
+    }
+
+    /// <summary>
+    /// String characters. It does not allocate memory for string slices.
+    /// </summary>
+    internal ReadOnlySpan<char> AsStringSpanUnsafe => _object is StringSliceChunk chunk
+        ? chunk.GetSpan(_valueUnion.IntegerValue)
+        : AsStringUnsafe.AsSpan();
+
+    /// <summary>
+    /// Returns <c>true</c> if the value is the string that references the shared buffer.
+    /// </summary>
+    internal bool IsStringSlice => _object is StringSliceChunk;
+
+    /// <summary>
+    /// Get the value that does not reference the shared buffers. It should be called
+    /// if the value is kept for a long time (stored in rows frame, variables, etc).
+    /// </summary>
+    /// <returns>The value with own data.</returns>
+    public VariantValue Materialize()
+        => _object is StringSliceChunk ? new VariantValue(AsStringUnsafe) : this;
+
+    /// <summary>
+    /// Materialize all the values in place.
+    /// </summary>
+    /// <param name="values">Values.</param>
+    internal static void Materialize(Span<VariantValue> values)
+    {
+        for (var i = 0; i < values.Length; i++)
+        {
+            if (values[i]._object is StringSliceChunk)
+            {
+                values[i] = values[i].Materialize();
+            }
+        }
+    }
+}
@@ -172,12 +172,12 @@ public partial struct VariantValue
 
     #region String
 
-    internal sealed class StringDataTypeObject : DataTypeObject
+    internal class StringDataTypeObject : DataTypeObject
     {
         public static StringDataTypeObject Instance { get; } = new();
 
         /// <inheritdoc />
-        private StringDataTypeObject() : base(DataType.String)
+        protected StringDataTypeObject() : base(DataType.String)
         {
         }
 
@@ -187,7 +187,7 @@ public partial struct VariantValue
         public override bool CanToInteger => true;
 
         /// <inheritdoc />
-        public override long? ToInteger(in VariantValue value) => StringToInteger(value.AsStringUnsafe, out _);
+        public override long? ToInteger(in VariantValue value) => StringToInteger(value.AsStringSpanUnsafe, out _);
 
         internal static long? StringToInteger(in ReadOnlySpan<char> value, out bool success)
         {
@@ -210,7 +210,7 @@ public partial struct VariantValue
         public override bool CanToFloat => true;
 
         /// <inheritdoc />
-        public override double? ToFloat(in VariantValue value) => StringToFloat(value.AsStringUnsafe, out _);
+        public override double? ToFloat(in VariantValue value) => StringToFloat(value.AsStringSpanUnsafe, out _);
 
         internal static double? StringToFloat(string? value, out bool success)
             => StringToFloat((ReadOnlySpan<char>)value, out success);
@@ -229,7 +229,7 @@ public partial struct VariantValue
         public override bool CanToNumeric => true;
 
         /// <inheritdoc />
-        public override decimal? ToNumeric(in VariantValue value) => StringToNumeric(value.AsStringUnsafe, out _);
+        public override decimal? ToNumeric(in VariantValue value) => StringToNumeric(value.AsStringSpanUnsafe, out _);
 
         internal static decimal? StringToNumeric(in string? value, out bool success)
             => StringToNumeric((ReadOnlySpan<char>)value, out success);
@@ -248,7 +248,7 @@ public partial struct VariantValue
         public override bool CanToBoolean => true;
 
         /// <inheritdoc />
-        public override bool? ToBoolean(in VariantValue value) => StringToBoolean(value.AsStringUnsafe, out _);
+        public override bool? ToBoolean(in VariantValue value) => StringToBoolean(value.AsStringSpanUnsafe, out _);
 
         internal static bool? StringToBoolean(string? value, out bool success)
             => StringToBoolean((ReadOnlySpan<char>)value, out success);
@@ -309,7 +309,7 @@ public partial struct VariantValue
         public override bool CanToInterval => true;
 
         /// <inheritdoc />
-        public override TimeSpan? ToInterval(in VariantValue value) => StringToInterval(value.AsStringUnsafe, out _);
+        public override TimeSpan? ToInterval(in VariantValue value) => StringToInterval(value.AsStringSpanUnsafe, out _);
 
         internal static TimeSpan? StringToInterval(in ReadOnlySpan<char> value, out bool success)
         {
@@ -325,7 +325,7 @@ public partial struct VariantValue
         public override bool CanToTimestamp => true;
 
         /// <inheritdoc />
-        public override DateTime? ToTimestamp(in VariantValue value) => StringToTimestamp(value.AsStringUnsafe, out _);
+        public override DateTime? ToTimestamp(in VariantValue value) => StringToTimestamp(value.AsStringSpanUnsafe, out _);
 
         internal static DateTime? StringToTimestamp(string? value, out bool success)
             => StringToTimestamp((ReadOnlySpan<char>)value, out success);
@@ -494,7 +494,12 @@ public readonly partial struct VariantValue :
 
     public string AsString => GetDataTypeObject().ToString(in this);
 
-    internal string AsStringUnsafe => _object != null ? (string)_object : string.Empty;
+    internal string AsStringUnsafe => _object switch
+    {
+        null => string.Empty,
+        StringSliceChunk => AsStringSpanUnsafe.ToString(),
+        _ => (string)_object,
+    };
 
     public double? AsFloat => GetDataTypeObject().ToFloat(in this);
 
@@ -718,9 +723,16 @@ public readonly partial struct VariantValue :
 
     #endregion
 
-    public static bool Equals(in VariantValue value1, in VariantValue value2) =>
-        value1._valueUnion.IntegerValue == value2._valueUnion.IntegerValue
+    public static bool Equals(in VariantValue value1, in VariantValue value2)
+    {
+        if (value1._object is StringSliceChunk || value2._object is StringSliceChunk)
+        {
+            return value1.Type == DataType.String && value2.Type == DataType.String
+                && value1.AsStringSpanUnsafe.SequenceEqual(value2.AsStringSpanUnsafe);
+        }
+        return value1._valueUnion.IntegerValue == value2._valueUnion.IntegerValue
             && ((value1._object == null && value2._object == null) || Equals(value1._object, value2._object));
+    }
 
     /// <inheritdoc />
     public override bool Equals(object? obj)
@@ -734,6 +746,11 @@ public readonly partial struct VariantValue :
         {
             return 0;
         }
+        if (_object is StringSliceChunk)
+        {
+            // Must be the same as string hash code.
+            return string.GetHashCode(AsStringSpanUnsafe);
+        }
         return IsValueType() ? _valueUnion.GetHashCode() : _object.GetHashCode();
     }
 
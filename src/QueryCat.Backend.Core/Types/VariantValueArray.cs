@@ -37,6 +37,17 @@ public readonly struct VariantValueArray(params VariantValue[] values) : IEquata
         Array.Fill(_values, VariantValue.Null);
     }
 
+    /// <summary>
+    /// Replace the string slices by the values with own data in place. It should be called
+    /// before the array is kept as the key, so it doesn't hold the shared buffers.
+    /// </summary>
+    /// <returns>The same array.</returns>
+    internal VariantValueArray Materialize()
+    {
+        VariantValue.Materialize(_values);
+        return this;
+    }
+
     /// <inheritdoc />
     public bool Equals(VariantValueArray other)
     {
@@ -1,7 +1,5 @@
 using System.Diagnostics;
 using System.Runtime.InteropServices;
-using System.Text.Json;
-using System.Text.Json.Serialization;
 using Microsoft.Extensions.Logging;
 using QueryCat.Backend.Core;
 using QueryCat.Backend.Core.Execution;
@@ -21,8 +19,6 @@ namespace QueryCat.Backend.ThriftPlugins;
 /// </summary>
 public sealed partial class ThriftPluginsLoader : PluginsLoader, IDisposable
 {
-    private const string FunctionsCacheFileExtension = ".fcache.json";
-
     private readonly IExecutionThread _thread;
     private readonly string? _applicationDirectory;
     private readonly bool _debugMode;
@@ -30,7 +26,7 @@ public sealed partial class ThriftPluginsLoader : PluginsLoader, IDisposable
     private readonly ThriftPluginsServer _server;
     private readonly ILogger _logger = Application.LoggerFactory.CreateLogger(nameof(ThriftPluginsLoader));
     private readonly HashSet<string> _loadedPlugins = new();
-    private readonly string _functionsCacheDirectory;
+    private readonly PluginManifestStorage? _manifestStorage;
 
     // Lazy loading.
     private readonly Dictionary<string, string> _fileTokenMap = new(); // file-token.
@@ -52,10 +48,6 @@ public sealed partial class ThriftPluginsLoader : PluginsLoader, IDisposable
     /// </summary>
     public string ServerPipeName { get; } = ThriftEndpoint.GenerateIdentifier("qcath");
 
-    internal sealed record FunctionsCache(
-        [property:JsonPropertyName("createdAt")] long CreatedAt,
-        [property:JsonPropertyName("functions")] List<PluginContextFunction> Functions);
-
     private class FunctionCallPluginBase
     {
         public string FunctionName { get; set; } = string.Empty;
@@ -150,7 +142,10 @@ public sealed partial class ThriftPluginsLoader : PluginsLoader, IDisposable
             _server.Start();
         }
         _server.OnPluginRegistration += OnPluginRegistration;
-        _functionsCacheDirectory = functionsCacheDirectory ?? string.Empty;
+        if (!string.IsNullOrEmpty(functionsCacheDirectory))
+        {
+            _manifestStorage = new PluginManifestStorage(functionsCacheDirectory);
+        }
     }
 
     private void OnPluginRegistration(object? sender, ThriftPluginsServer.PluginRegistrationEventArgs e)
@@ -166,15 +161,15 @@ public sealed partial class ThriftPluginsLoader : PluginsLoader, IDisposable
         {
             RegisterFunctions(_thread.FunctionsManager, e.PluginContext);
             _filesWithLoadedFunctions.Add(file);
-        }
 
-        try
-        {
-            CacheFunctions(e.PluginContext, file);
-        }
-        catch (Exception exception)
-        {
-            _logger.LogWarning(exception, "Cannot write functions cache.");
+            try
+            {
+                CacheFunctions(e.PluginContext, file);
+            }
+            catch (Exception exception)
+            {
+                _logger.LogWarning(exception, "Cannot write functions cache.");
+            }
         }
     }
 
@@ -654,6 +649,7 @@ public sealed partial class ThriftPluginsLoader : PluginsLoader, IDisposable
                     Description = function.Description,
                     IsSafe = function.IsSafe,
                     IsAggregate = function.IsAggregate,
+                    Formatters = function.Formatters ?? [],
                 });
             functionsManager.RegisterFunction(internalFunction);
             wrapper.FunctionName = internalFunction.Name;
@@ -664,54 +660,26 @@ public sealed partial class ThriftPluginsLoader : PluginsLoader, IDisposable
 
     private void CacheFunctions(ThriftPluginContext context, string fileName)
     {
-        if (string.IsNullOrEmpty(_functionsCacheDirectory))
+        if (_manifestStorage == null || string.IsNullOrEmpty(fileName))
         {
             return;
         }
 
-        var fileInfo = new FileInfo(fileName);
-        var cacheEntry = new FunctionsCache(fileInfo.CreationTimeUtc.Ticks, context.Functions);
-        var pluginName = PluginInfo.CreateFromUniversalName(fileName).Name;
-        var cacheFile = Path.Combine(_functionsCacheDirectory, pluginName + FunctionsCacheFileExtension);
-        Directory.CreateDirectory(_functionsCacheDirectory);
-        using var cacheFileStream = File.Create(cacheFile);
-        JsonSerializer.Serialize(cacheFileStream, cacheEntry, SourceGenerationContext.Default.FunctionsCache);
+        _manifestStorage.Save(fileName, context.Functions.Select(f =>
+            new PluginManifestFunction(f.Signature, f.Description, f.IsSafe, f.IsAggregate, f.Formatters)));
     }
 
     private bool TryGetCachedFunctions(string fileName, out IEnumerable<PluginContextFunction> functions)
     {
         functions = [];
 
-        if (string.IsNullOrEmpty(_functionsCacheDirectory))
-        {
-            return false;
-        }
-
-        var pluginName = PluginInfo.CreateFromUniversalName(fileName).Name;
-        var cacheFile = Path.Combine(_functionsCacheDirectory, pluginName + FunctionsCacheFileExtension);
-        if (!File.Exists(cacheFile))
-        {
-            return false;
-        }
-        var fileInfo = new FileInfo(fileName);
-
-        using var cacheFileStream = File.OpenRead(cacheFile);
-        var cacheEntry = JsonSerializer.Deserialize(cacheFileStream, SourceGenerationContext.Default.FunctionsCache);
-        cacheFileStream.Close();
-        if (cacheEntry == null)
-        {
-            return false;
-        }
-
-        // If plugin file has changed - invalidate the cache.
-        if (cacheEntry.CreatedAt != fileInfo.CreationTimeUtc.Ticks)
+        if (_manifestStorage == null || !_manifestStorage.TryGet(fileName, out var manifest))
         {
-            _logger.LogDebug("Update plugin cache '{PluginName}'.", pluginName);
-            File.Delete(cacheFile);
             return false;
         }
 
-        functions = cacheEntry.Functions;
+        functions = manifest.Functions.Select(f =>
+            new PluginContextFunction(f.Signature, f.Description, f.IsSafe, f.IsAggregate, f.Formatters));
         return true;
     }
 
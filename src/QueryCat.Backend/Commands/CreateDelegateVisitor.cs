@@ -1,3 +1,4 @@
+using System.Text.RegularExpressions;
 using QueryCat.Backend.Ast;
 using QueryCat.Backend.Ast.Nodes;
 using QueryCat.Backend.Ast.Nodes.Function;
@@ -118,7 +119,123 @@ internal partial class CreateDelegateVisitor : AstVisitor
 
         var leftAction = NodeIdFuncMap[node.LeftNode.Id];
         var rightAction = NodeIdFuncMap[node.RightNode.Id];
-        NodeIdFuncMap[node.Id] = new BinaryFuncUnit(node.Operation, leftAction, rightAction, node.Type);
+        if (leftAction is not FuncUnitStatic && rightAction is FuncUnitStatic patternAction)
+        {
+            var patternFuncUnit = CreatePatternFuncUnit(node.Operation, leftAction, patternAction.Value, node.Type);
+            if (patternFuncUnit != null)
+            {
+                NodeIdFuncMap[node.Id] = patternFuncUnit;
+                return;
+            }
+        }
+
+        var funcUnit = new BinaryFuncUnit(node.Operation, leftAction, rightAction, node.Type);
+        NodeIdFuncMap[node.Id] = await FoldConstantAsync(funcUnit, [leftAction, rightAction], cancellationToken);
+    }
+
+    private sealed class LikeFuncUnit(
+        IFuncUnit action,
+        StringLikePattern pattern,
+        bool isNot,
+        DataType outputType) : IFuncUnit
+    {
+        /// <inheritdoc />
+        public DataType OutputType => outputType;
+
+        /// <inheritdoc />
+        public async ValueTask<VariantValue> InvokeAsync(IExecutionThread thread, CancellationToken cancellationToken = default)
+        {
+            var value = await action.InvokeAsync(thread, cancellationToken);
+            var str = value.Type == DataType.String ? value.AsStringSpanUnsafe : value.AsString.AsSpan();
+            return new VariantValue(pattern.IsMatch(str) != isNot);
+        }
+    }
+
+    private sealed class SimilarFuncUnit(
+        IFuncUnit action,
+        Regex regex,
+        bool isNot,
+        DataType outputType) : IFuncUnit
+    {
+        /// <inheritdoc />
+        public DataType OutputType => outputType;
+
+        /// <inheritdoc />
+        public async ValueTask<VariantValue> InvokeAsync(IExecutionThread thread, CancellationToken cancellationToken = default)
+        {
+            var value = await action.InvokeAsync(thread, cancellationToken);
+            var str = value.Type == DataType.String ? value.AsStringSpanUnsafe : value.AsString.AsSpan();
+            return new VariantValue(regex.IsMatch(str) != isNot);
+        }
+    }
+
+    /// <summary>
+    /// Create the function unit for pattern matching operations with the constant pattern. The pattern
+    /// is preprocessed only once instead of every row.
+    /// </summary>
+    /// <param name="operation">Operation.</param>
+    /// <param name="action">Target string function unit.</param>
+    /// <param name="pattern">Pattern value.</param>
+    /// <param name="outputType">Output type.</param>
+    /// <returns>Function unit or null if the operation is not supported.</returns>
+    private static IFuncUnit? CreatePatternFuncUnit(
+        VariantValue.Operation operation,
+        IFuncUnit action,
+        VariantValue pattern,
+        DataType outputType)
+    {
+        return operation switch
+        {
+            VariantValue.Operation.Like => new LikeFuncUnit(
+                action, new StringLikePattern(pattern.AsString), isNot: false, outputType),
+            VariantValue.Operation.NotLike => new LikeFuncUnit(
+                action, new StringLikePattern(pattern.AsString), isNot: true, outputType),
+            VariantValue.Operation.Similar => new SimilarFuncUnit(
+                action, CreateSimilarRegex(pattern.AsString), isNot: false, outputType),
+            VariantValue.Operation.NotSimilar => new SimilarFuncUnit(
+                action, CreateSimilarRegex(pattern.AsString), isNot: true, outputType),
+            _ => null,
+        };
+    }
+
+    private static Regex CreateSimilarRegex(string pattern)
+        => new(pattern, RegexOptions.Compiled | RegexOptions.CultureInvariant);
+
+    /// <summary>
+    /// Evaluate the function unit at planning stage if all its inputs are constant.
+    /// </summary>
+    /// <param name="funcUnit">Function unit to fold.</param>
+    /// <param name="inputs">Function unit inputs.</param>
+    /// <param name="cancellationToken">Cancellation token.</param>
+    /// <returns>Static function unit or the source function unit if cannot fold.</returns>
+    private async ValueTask<IFuncUnit> FoldConstantAsync(
+        IFuncUnit funcUnit,
+        IFuncUnit[] inputs,
+        CancellationToken cancellationToken)
+    {
+        foreach (var input in inputs)
+        {
+            if (input is not FuncUnitStatic)
+            {
+                return funcUnit;
+            }
+        }
+
+        VariantValue value;
+        try
+        {
+            value = await funcUnit.InvokeAsync(ExecutionThread, cancellationToken);
+        }
+        catch (Exception e) when (e is not OperationCanceledException)
+        {
+            // Keep the runtime behavior, the error will be raised on evaluation.
+            return funcUnit;
+        }
+        if (value.Type != funcUnit.OutputType)
+        {
+            return funcUnit;
+        }
+        return new FuncUnitStatic(value);
     }
 
     /// <inheritdoc />
@@ -381,7 +498,7 @@ internal partial class CreateDelegateVisitor : AstVisitor
         var action = NodeIdFuncMap[node.RightNode.Id];
         var nodeType = node.Type;
 
-        NodeIdFuncMap[node.Id] = node.Operation switch
+        IFuncUnit funcUnit = node.Operation switch
         {
             VariantValue.Operation.Subtract => new UnarySubtractFuncUnit(action, nodeType),
             VariantValue.Operation.Not => new UnaryNotFuncUnit(action, nodeType),
@@ -389,6 +506,7 @@ internal partial class CreateDelegateVisitor : AstVisitor
             VariantValue.Operation.IsNotNull => new UnaryIsNotNullFuncUnit(action, nodeType),
             _ => throw new QueryCatException(Resources.Errors.InvalidOperation),
         };
+        NodeIdFuncMap[node.Id] = await FoldConstantAsync(funcUnit, [action], cancellationToken);
     }
 
     /// <inheritdoc />
@@ -448,6 +566,13 @@ internal partial class CreateDelegateVisitor : AstVisitor
         await ResolveTypesVisitor.VisitAsync(node, cancellationToken);
         var expressionAction = NodeIdFuncMap[node.ExpressionNode.Id];
 
+        if (expressionAction is FuncUnitStatic staticAction
+            && staticAction.Value.TryCast(node.Type, out VariantValue castValue)
+            && castValue.Type == node.Type)
+        {
+            NodeIdFuncMap[node.Id] = new FuncUnitStatic(castValue);
+            return;
+        }
         NodeIdFuncMap[node.Id] = new CastFuncUnit(expressionAction, node.Type);
     }
 
@@ -507,6 +632,8 @@ internal partial class CreateDelegateVisitor : AstVisitor
         IFuncUnit[] argsUnits,
         DataType outputType) : IFuncUnitArguments
     {
+        private readonly FunctionCallSiteCache _callSiteCache = new();
+
         /// <inheritdoc />
         public DataType OutputType => outputType;
 
@@ -516,7 +643,7 @@ internal partial class CreateDelegateVisitor : AstVisitor
         /// <inheritdoc />
         public async ValueTask<VariantValue> InvokeAsync(IExecutionThread thread, CancellationToken cancellationToken = default)
         {
-            using var frame = thread.Stack.CreateFrame();
+            using var frame = thread.Stack.CreateFrame(_callSiteCache);
             foreach (var argsUnit in argsUnits)
             {
                 thread.Stack.Push(await argsUnit.InvokeAsync(thread, cancellationToken));
@@ -5,6 +5,11 @@ namespace QueryCat.Backend.Commands;
 
 internal sealed class FuncUnitStatic(VariantValue value) : IFuncUnit
 {
+    /// <summary>
+    /// Static value.
+    /// </summary>
+    public VariantValue Value => value;
+
     /// <inheritdoc />
     public DataType OutputType => value.Type;
 
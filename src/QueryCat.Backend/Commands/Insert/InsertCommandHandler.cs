@@ -1,3 +1,4 @@
+using QueryCat.Backend.Core;
 using QueryCat.Backend.Core.Data;
 using QueryCat.Backend.Core.Execution;
 using QueryCat.Backend.Core.Types;
@@ -23,14 +24,26 @@ internal sealed class InsertCommandHandler : IFuncUnit
     public async ValueTask<VariantValue> InvokeAsync(IExecutionThread thread, CancellationToken cancellationToken = default)
     {
         var insertCount = 0;
+        var errorCode = ErrorCode.OK;
         _rowsOutput.QueryContext = new RowsOutputQueryContext(_rowsInput.Columns, thread.ConfigStorage);
         await _rowsOutput.OpenAsync(cancellationToken);
         try
         {
-            while (await _rowsInput.MoveNextAsync(cancellationToken))
+            if (_rowsOutput is IRowsOutputBatch rowsOutputBatch)
             {
-                await _rowsOutput.WriteValuesAsync(_rowsInput.Current.Values, cancellationToken);
-                insertCount++;
+                (insertCount, errorCode) = await new RowsBatchBuffer().WriteAsync(rowsOutputBatch, _rowsInput, cancellationToken);
+            }
+            else
+            {
+                while (await _rowsInput.MoveNextAsync(cancellationToken))
+                {
+                    await _rowsOutput.WriteValuesAsync(_rowsInput.Current.Values, cancellationToken);
+                    insertCount++;
+                }
+            }
+            if (errorCode == ErrorCode.OK)
+            {
+                (_rowsOutput as IRowsOutputCommit)?.Commit();
             }
         }
         finally
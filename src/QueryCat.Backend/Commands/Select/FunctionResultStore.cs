@@ -46,7 +46,7 @@ internal sealed class FunctionResultStore
         }
 
         variantValue = await _factory.InvokeAsync(thread, cancellationToken);
-        _results.Add(args, variantValue);
+        _results.Add(args.Materialize(), variantValue.Materialize());
         return (variantValue, false);
     }
 
@@ -188,7 +188,7 @@ internal sealed class CacheRowsInput : IRowsInput, IRowsIteratorParent
             var offset = baseOffset + columnIndex;
             _rowsInput.ReadValue(columnIndex, out var value);
             InputReads++;
-            cacheEntry.Cache[offset] = value;
+            cacheEntry.Cache[offset] = value.Materialize();
         }
         Array.Fill(_cacheReadMap, true);
     }
@@ -30,6 +30,19 @@ internal sealed class SetKeysRowsInput : IRowsInputUpdate, IRowsInputDelete
     private bool _hasNoMoreData;
     private bool _needFillConditions = true;
 
+    // The only "WHERE id IN (x, y, z)" condition. Its values are deduplicated.
+    private ConditionJoint? _multipleKeysCondition;
+    private readonly HashSet<VariantValue> _processedKeys = new();
+
+    // Batch lookup mode, the input reads rows for several keys at once.
+    private readonly int _maxLookupsInFlight;
+    private bool _useBatchLookup;
+    private readonly Queue<VariantValue[]> _batchKeys = new();
+    private readonly Queue<Task<IReadOnlyList<KeyedRow>>> _batchLookups = new();
+    private CancellationTokenSource? _batchLookupsCancellationTokenSource;
+    private IReadOnlyList<KeyedRow> _batchRows = [];
+    private int _batchRowIndex = -1;
+
     private readonly ILogger _logger = Application.LoggerFactory.CreateLogger(nameof(SetKeysRowsInput));
 
     /// <inheritdoc />
@@ -44,19 +57,28 @@ internal sealed class SetKeysRowsInput : IRowsInputUpdate, IRowsInputDelete
 
     public IRowsInput InnerRowsInput => _rowsInput;
 
-    public SetKeysRowsInput(IExecutionThread thread, IRowsInput rowsInput, SelectQueryConditions conditions)
+    public SetKeysRowsInput(
+        IExecutionThread thread,
+        IRowsInput rowsInput,
+        SelectQueryConditions conditions,
+        int maxLookupsInFlight = 0)
     {
         Columns = rowsInput.Columns;
         _thread = thread;
         _rowsInput = rowsInput;
         _selectQueryConditions = conditions;
+        _maxLookupsInFlight = maxLookupsInFlight;
     }
 
     /// <inheritdoc />
     public Task OpenAsync(CancellationToken cancellationToken = default) => _rowsInput.OpenAsync(cancellationToken);
 
     /// <inheritdoc />
-    public Task CloseAsync(CancellationToken cancellationToken = default) => _rowsInput.CloseAsync(cancellationToken);
+    public async Task CloseAsync(CancellationToken cancellationToken = default)
+    {
+        await StopBatchLookupsAsync();
+        await _rowsInput.CloseAsync(cancellationToken);
+    }
 
     /// <inheritdoc />
     public async Task ResetAsync(CancellationToken cancellationToken = default)
@@ -70,6 +92,8 @@ internal sealed class SetKeysRowsInput : IRowsInputUpdate, IRowsInputDelete
         }
         _keysFilled = false;
         _hasNoMoreData = false;
+        _processedKeys.Clear();
+        await StopBatchLookupsAsync();
         await _rowsInput.ResetAsync(cancellationToken);
     }
 
@@ -78,7 +102,14 @@ internal sealed class SetKeysRowsInput : IRowsInputUpdate, IRowsInputDelete
 
     /// <inheritdoc />
     [MethodImpl(MethodImplOptions.AggressiveInlining)]
-    public ErrorCode ReadValue(int columnIndex, out VariantValue value) => _rowsInput.ReadValue(columnIndex, out value);
+    public ErrorCode ReadValue(int columnIndex, out VariantValue value)
+    {
+        if (_useBatchLookup)
+        {
+            return ReadBatchValue(columnIndex, out value);
+        }
+        return _rowsInput.ReadValue(columnIndex, out value);
+    }
 
     /// <inheritdoc />
     public async ValueTask<bool> ReadNextAsync(CancellationToken cancellationToken = default)
@@ -102,7 +133,9 @@ internal sealed class SetKeysRowsInput : IRowsInputUpdate, IRowsInputDelete
         var keysValid = false;
         while (!keysValid)
         {
-            var hasData = await ReadNextInternalAsync(cancellationToken);
+            var hasData = _useBatchLookup
+                ? await ReadNextBatchRowAsync(cancellationToken)
+                : await ReadNextInternalAsync(cancellationToken);
             if (!hasData)
             {
                 break;
@@ -151,7 +184,9 @@ internal sealed class SetKeysRowsInput : IRowsInputUpdate, IRowsInputDelete
             if (!hasMoreMultipleValues
                 && conditionJoint.Condition.Generator is IKeyConditionMultipleValuesGenerator multipleValuesGenerator)
             {
-                hasMoreMultipleValues = await multipleValuesGenerator.MoveNextAsync(_thread, cancellationToken);
+                hasMoreMultipleValues = ReferenceEquals(conditionJoint, _multipleKeysCondition)
+                    ? await MoveNextDistinctAsync(multipleValuesGenerator, cancellationToken)
+                    : await multipleValuesGenerator.MoveNextAsync(_thread, cancellationToken);
             }
             conditionJoint.KeyValue = await conditionJoint.Condition.Generator.GetAsync(_thread, cancellationToken);
             if (conditionJoint.KeyValue.HasValue)
@@ -167,6 +202,152 @@ internal sealed class SetKeysRowsInput : IRowsInputUpdate, IRowsInputDelete
         return hasMoreMultipleValues;
     }
 
+    private async ValueTask<bool> MoveNextDistinctAsync(
+        IKeyConditionMultipleValuesGenerator generator,
+        CancellationToken cancellationToken)
+    {
+        // The repeated key value produces the same rows, skip it.
+        while (await generator.MoveNextAsync(_thread, cancellationToken))
+        {
+            var value = await generator.GetAsync(_thread, cancellationToken);
+            if (!value.HasValue || _processedKeys.Add(value.Value.Materialize()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    #region Batch lookup
+
+    private async ValueTask<bool> ReadNextBatchRowAsync(CancellationToken cancellationToken)
+    {
+        if (!_keysFilled)
+        {
+            await FillBatchKeysAsync(cancellationToken);
+            _keysFilled = true;
+        }
+
+        while (++_batchRowIndex >= _batchRows.Count)
+        {
+            StartBatchLookups();
+            if (!_batchLookups.TryDequeue(out var lookup))
+            {
+                _hasNoMoreData = true;
+                return false;
+            }
+            _batchRows = await lookup.WaitAsync(cancellationToken);
+            _batchRowIndex = -1;
+            StartBatchLookups();
+        }
+
+        _multipleKeysCondition!.KeyValue = _batchRows[_batchRowIndex].Key;
+        return true;
+    }
+
+    private async ValueTask FillBatchKeysAsync(CancellationToken cancellationToken)
+    {
+        foreach (var conditionJoint in _conditions)
+        {
+            if (ReferenceEquals(conditionJoint, _multipleKeysCondition))
+            {
+                continue;
+            }
+            conditionJoint.KeyValue = await conditionJoint.Condition.Generator.GetAsync(_thread, cancellationToken);
+            if (conditionJoint.KeyValue.HasValue)
+            {
+                _rowsInput.SetKeyColumnValue(conditionJoint.ColumnIndex, conditionJoint.KeyValue.Value, conditionJoint.Condition.Operation);
+            }
+            else
+            {
+                _rowsInput.UnsetKeyColumnValue(conditionJoint.ColumnIndex, conditionJoint.Condition.Operation);
+            }
+        }
+
+        // Split distinct key values into batches.
+        var generator = (IKeyConditionMultipleValuesGenerator)_multipleKeysCondition!.Condition.Generator;
+        var maxBatchSize = ((IRowsInputKeysBatch)_rowsInput).MaxBatchSize;
+        var keys = new List<VariantValue>();
+        while (await MoveNextDistinctAsync(generator, cancellationToken))
+        {
+            var value = await generator.GetAsync(_thread, cancellationToken);
+            if (!value.HasValue || value.Value.IsNull)
+            {
+                continue;
+            }
+            keys.Add(value.Value.Materialize());
+            if (maxBatchSize > 0 && keys.Count >= maxBatchSize)
+            {
+                _batchKeys.Enqueue(keys.ToArray());
+                keys.Clear();
+            }
+        }
+        if (keys.Count > 0)
+        {
+            _batchKeys.Enqueue(keys.ToArray());
+        }
+
+        _batchLookupsCancellationTokenSource = CancellationTokenSource.CreateLinkedTokenSource(cancellationToken);
+        _logger.LogDebug("Look up keys with {BatchesCount} batches.", _batchKeys.Count);
+    }
+
+    private void StartBatchLookups()
+    {
+        var batchInput = (IRowsInputKeysBatch)_rowsInput;
+        var cancellationToken = _batchLookupsCancellationTokenSource?.Token ?? CancellationToken.None;
+        while (_batchLookups.Count < _maxLookupsInFlight && _batchKeys.TryDequeue(out var keys))
+        {
+            _batchLookups.Enqueue(
+                batchInput.ReadByKeysAsync(_multipleKeysCondition!.ColumnIndex, keys, cancellationToken).AsTask());
+        }
+    }
+
+    private async Task StopBatchLookupsAsync()
+    {
+        _batchKeys.Clear();
+        _batchRows = [];
+        _batchRowIndex = -1;
+        if (_batchLookupsCancellationTokenSource == null)
+        {
+            return;
+        }
+
+        // The results are not needed anymore, but we should wait because the input can be reset after.
+        await _batchLookupsCancellationTokenSource.CancelAsync();
+        while (_batchLookups.TryDequeue(out var lookup))
+        {
+            try
+            {
+                await lookup;
+            }
+            catch (Exception e)
+            {
+                _logger.LogDebug(e, "Discarded key lookup has failed.");
+            }
+        }
+        _batchLookupsCancellationTokenSource.Dispose();
+        _batchLookupsCancellationTokenSource = null;
+    }
+
+    private ErrorCode ReadBatchValue(int columnIndex, out VariantValue value)
+    {
+        if (_batchRowIndex < 0 || _batchRowIndex >= _batchRows.Count)
+        {
+            value = VariantValue.Null;
+            return ErrorCode.NoData;
+        }
+        var values = _batchRows[_batchRowIndex].Values;
+        if (columnIndex < 0 || columnIndex >= values.Length)
+        {
+            value = VariantValue.Null;
+            return ErrorCode.InvalidColumnIndex;
+        }
+        value = values[columnIndex];
+        return ErrorCode.OK;
+    }
+
+    #endregion
+
     private void FillConditions()
     {
         // Find all related conditions.
@@ -184,9 +365,22 @@ internal sealed class SetKeysRowsInput : IRowsInputUpdate, IRowsInputDelete
         _conditions = list.ToArray();
 
         // Special mode for "WHERE id IN (x, y, z)" condition.
-        _hasMultipleConditions = _conditions
-            .Any(c => c.Condition.Operation == VariantValue.Operation.Equals
-                        && c.Condition.Generator is IKeyConditionMultipleValuesGenerator);
+        var multipleConditions = _conditions
+            .Where(c => c.Condition.Operation == VariantValue.Operation.Equals
+                        && c.Condition.Generator is IKeyConditionMultipleValuesGenerator)
+            .ToArray();
+        _hasMultipleConditions = multipleConditions.Length > 0;
+        _multipleKeysCondition = multipleConditions.Length == 1
+            && _conditions.Count(c => c.Condition.Generator is IKeyConditionMultipleValuesGenerator) == 1
+            ? multipleConditions[0]
+            : null;
+
+        // The rows of batch lookup are not related to the input position, so update and delete cannot be applied.
+        _useBatchLookup = _multipleKeysCondition != null
+            && _maxLookupsInFlight > 0
+            && _rowsInput is IRowsInputKeysBatch
+            && _rowsInput is not IRowsInputUpdate
+            && _rowsInput is not IRowsInputDelete;
     }
 
     /*
@@ -60,8 +60,9 @@ internal class DistinctRowsIteratorIterator : IRowsIterator, IRowsIteratorParent
             }
             var arr = new VariantValueArray(values);
 
-            if (_values.Add(arr))
+            if (!_values.Contains(arr))
             {
+                _values.Add(arr.Materialize());
                 return true;
             }
         }
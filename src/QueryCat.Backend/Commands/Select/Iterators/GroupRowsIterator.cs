@@ -148,7 +148,7 @@ internal sealed class GroupRowsIterator : IRowsIterator, IRowsIteratorParent
                 _rowsIterator.Current.Copy(row);
                 VariantValueArray[] initialStates = TargetsToInitialStates(_targets);
                 groupKey = new GroupKeyEntry(initialStates, _rowsFrame.AddRow(row));
-                keysRowIndexesMap.Add(key, groupKey);
+                keysRowIndexesMap.Add(key.Materialize(), groupKey);
             }
 
             for (var i = 0; i < _targets.Length; i++)
@@ -72,6 +72,11 @@ internal sealed class VaryingOutputRowsIterator : IRowsIterator, IRowsIteratorPa
         var result = await _rowsIterator.MoveNextAsync(cancellationToken);
         if (!result)
         {
+            // All rows have been written, the outputs can apply the data.
+            foreach (var outputKeyValue in _outputs)
+            {
+                (outputKeyValue.Value as IRowsOutputCommit)?.Commit();
+            }
             await CloseAsync(cancellationToken);
             return false;
         }
@@ -96,7 +101,7 @@ internal sealed class VaryingOutputRowsIterator : IRowsIterator, IRowsIteratorPa
             output.QueryContext = _queryContext;
             await output.OpenAsync(cancellationToken);
             _logger.LogDebug("Open for args {Arguments}.", _functionCallInfo);
-            _outputs.Add(args, output);
+            _outputs.Add(args.Materialize(), output);
             CurrentOutput = output;
         }
 
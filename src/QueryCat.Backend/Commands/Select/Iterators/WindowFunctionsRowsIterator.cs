@@ -122,7 +122,7 @@ internal sealed class WindowFunctionsRowsIterator : IRowsIterator
                     subRowsFrameIterator = subRowsFrame.GetIterator();
                 }
                 partitionData = new PartitionInstance(subRowsFrame, subRowsFrameIterator);
-                PartitionRowsIds.Add(partitionKey, partitionData);
+                PartitionRowsIds.Add(partitionKey.Materialize(), partitionData);
             }
 
             // Format result rows frame. Format: agg_arg1, agg_arg2, order_col1, order_col2, rowId.
@@ -297,7 +297,8 @@ internal sealed partial class SelectPlanner
             && context.Inputs.Any(i => i.RowsInput == rowsInput) // Create wrapper only for input source with data.
         )
         {
-            return new SetKeysRowsInput(ExecutionThread, rowsInput, context.Conditions);
+            return new SetKeysRowsInput(ExecutionThread, rowsInput, context.Conditions,
+                ExecutionThread.Options.MaxKeysLookupsInFlight);
         }
         return rowsInput;
     }
@@ -55,6 +55,7 @@ public sealed class DefaultExecutionScope : IExecutionScope
     /// <inheritdoc />
     public bool TrySetVariable(string name, VariantValue value)
     {
+        value = value.Materialize();
         var currentScope = (IExecutionScope)this;
         while (currentScope != null)
         {
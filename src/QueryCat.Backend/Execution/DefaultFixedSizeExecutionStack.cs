@@ -1,6 +1,7 @@
 using System.Collections;
 using System.Diagnostics;
 using QueryCat.Backend.Core.Execution;
+using QueryCat.Backend.Core.Functions;
 using QueryCat.Backend.Core.Types;
 
 namespace QueryCat.Backend.Execution;
@@ -12,7 +13,7 @@ public sealed class DefaultFixedSizeExecutionStack : IExecutionStack
 {
     private int _position;
     private readonly VariantValue[] _stack;
-    private readonly Stack<int> _frames = new();
+    private readonly Stack<(int Position, FunctionCallSiteCache? CallSiteCache)> _frames = new();
     private int _lastFramePosition;
 
     /// <inheritdoc />
@@ -44,9 +45,17 @@ public sealed class DefaultFixedSizeExecutionStack : IExecutionStack
     public int FrameLength => _position - _lastFramePosition;
 
     /// <inheritdoc />
-    public ExecutionStackFrame CreateFrame()
+    public FunctionCallSiteCache? CallSiteCache => _frames.Count > 0 ? _frames.Peek().CallSiteCache : null;
+
+    /// <inheritdoc />
+    public ExecutionStackFrame CreateFrame() => CreateFrameInternal(null);
+
+    /// <inheritdoc />
+    public ExecutionStackFrame CreateFrame(FunctionCallSiteCache callSiteCache) => CreateFrameInternal(callSiteCache);
+
+    private ExecutionStackFrame CreateFrameInternal(FunctionCallSiteCache? callSiteCache)
     {
-        _frames.Push(_position);
+        _frames.Push((_position, callSiteCache));
         _lastFramePosition = _position;
         return new ExecutionStackFrame(this);
     }
@@ -55,8 +64,8 @@ public sealed class DefaultFixedSizeExecutionStack : IExecutionStack
     public void CloseFrame()
     {
         ValidateFrame();
-        _position = _frames.Pop();
-        _lastFramePosition = _frames.Count > 0 ? _frames.Peek() : 0;
+        _position = _frames.Pop().Position;
+        _lastFramePosition = _frames.Count > 0 ? _frames.Peek().Position : 0;
     }
 
     /// <inheritdoc />
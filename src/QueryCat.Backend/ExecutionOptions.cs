@@ -50,6 +50,11 @@ public class ExecutionOptions
     /// </summary>
     public bool DisableCache { get; set; }
 
+    /// <summary>
+    /// Max number of concurrent key lookups for the inputs that support batch lookup. 0 disables batch lookup.
+    /// </summary>
+    public int MaxKeysLookupsInFlight { get; set; } = 4;
+
     /// <summary>
     /// Write appended data as source grows. Specifies check timeout. 0 means do not follow.
     /// </summary>
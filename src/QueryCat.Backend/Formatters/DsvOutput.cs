@@ -14,11 +14,14 @@ namespace QueryCat.Backend.Formatters;
 /// <summary>
 /// Delimiter separated values (DSV) output.
 /// </summary>
-internal sealed class DsvOutput : RowsOutput, IDisposable
+internal sealed class DsvOutput : RowsOutput, IRowsOutputBatch, IDisposable
 {
     private const char DefaultDelimiter = ',';
+    private const int WriterBufferSize = 8 * 1024;
+    private const int FormatBufferSize = 128;
 
     private readonly StreamWriter _streamWriter;
+    private char[] _formatBuffer;
     private readonly char _delimiter;
     private readonly bool _hasHeader;
     private readonly bool _quoteStrings;
@@ -31,7 +34,8 @@ internal sealed class DsvOutput : RowsOutput, IDisposable
     public DsvOutput(DsvOptions dsvOptions)
     {
         Stream = dsvOptions.Stream;
-        _streamWriter = new StreamWriter(Stream, Encoding.Default, -1, leaveOpen: true);
+        _streamWriter = new StreamWriter(Stream, Encoding.Default, WriterBufferSize, leaveOpen: true);
+        _formatBuffer = ArrayPool<char>.Shared.Rent(FormatBufferSize);
         _delimiter = dsvOptions.InputOptions.DelimiterStreamReaderOptions.Delimiters.Length > 0 ?
             dsvOptions.InputOptions.DelimiterStreamReaderOptions.Delimiters[0]
             : DefaultDelimiter;
@@ -56,6 +60,27 @@ internal sealed class DsvOutput : RowsOutput, IDisposable
 
     /// <inheritdoc />
     protected override async ValueTask<ErrorCode> OnWriteAsync(VariantValue[] values, CancellationToken cancellationToken = default)
+    {
+        WriteRow(values);
+        await _streamWriter.FlushAsync(cancellationToken);
+
+        return ErrorCode.OK;
+    }
+
+    /// <inheritdoc />
+    protected override async ValueTask<ErrorCode> OnWriteBatchAsync(IReadOnlyList<VariantValue[]> rows,
+        CancellationToken cancellationToken = default)
+    {
+        for (var i = 0; i < rows.Count; i++)
+        {
+            WriteRow(rows[i]);
+        }
+        await _streamWriter.FlushAsync(cancellationToken);
+
+        return ErrorCode.OK;
+    }
+
+    private void WriteRow(VariantValue[] values)
     {
         var columns = QueryContext.QueryInfo.Columns;
         for (var i = 0; i < columns.Length; i++)
@@ -71,29 +96,29 @@ internal sealed class DsvOutput : RowsOutput, IDisposable
                 switch (type)
                 {
                     case DataType.Integer:
-                        _streamWriter.Write(values[i].AsInteger);
+                        WriteFormattable(values[i].AsInteger);
                         break;
                     case DataType.Float:
-                        _streamWriter.Write(values[i].AsFloat);
+                        WriteFormattable(values[i].AsFloat);
                         break;
                     case DataType.Numeric:
-                        _streamWriter.Write(values[i].AsNumeric);
+                        WriteFormattable(values[i].AsNumeric);
                         break;
                     case DataType.String:
                         WriteString(values[i].AsString);
                         break;
                     case DataType.Timestamp:
-                        _streamWriter.Write(values[i].AsTimestamp);
+                        WriteFormattable(values[i].AsTimestamp);
                         break;
                     case DataType.Interval:
-                        _streamWriter.Write(values[i].AsInterval);
+                        WriteFormattable(values[i].AsInterval);
                         break;
                     case DataType.Boolean:
                         _streamWriter.Write(values[i].AsBoolean);
                         break;
                     case DataType.Blob:
                         {
-                            await using var stream = values[i].AsBlobUnsafe.GetStream();
+                            using var stream = values[i].AsBlobUnsafe.GetStream();
                             var arr = ArrayPool<byte>.Shared.Rent(4096);
                             int bytesRead;
                             while ((bytesRead = stream.Read(arr)) > 0)
@@ -117,9 +142,6 @@ internal sealed class DsvOutput : RowsOutput, IDisposable
             }
         }
         _streamWriter.WriteLine();
-        await _streamWriter.FlushAsync(cancellationToken);
-
-        return ErrorCode.OK;
     }
 
     /// <inheritdoc />
@@ -148,6 +170,25 @@ internal sealed class DsvOutput : RowsOutput, IDisposable
         }
     }
 
+    /// <summary>
+    /// Format the value into the pooled buffer to avoid the boxing and string allocation.
+    /// </summary>
+    private void WriteFormattable<T>(T? value) where T : struct, ISpanFormattable
+    {
+        if (!value.HasValue)
+        {
+            return;
+        }
+        if (value.Value.TryFormat(_formatBuffer, out var charsWritten, format: default, _streamWriter.FormatProvider))
+        {
+            _streamWriter.Write(_formatBuffer, 0, charsWritten);
+        }
+        else
+        {
+            _streamWriter.Write(value.Value.ToString(null, _streamWriter.FormatProvider));
+        }
+    }
+
     private void WriteString(string str)
     {
         var containsDelimiter = _quoteStrings || str.IndexOf(_delimiter) > -1
@@ -168,5 +209,10 @@ internal sealed class DsvOutput : RowsOutput, IDisposable
     public void Dispose()
     {
         _streamWriter.Dispose();
+        if (_formatBuffer.Length > 0)
+        {
+            ArrayPool<char>.Shared.Return(_formatBuffer);
+            _formatBuffer = [];
+        }
     }
 }
@@ -1,3 +1,4 @@
+using System.Buffers;
 using System.Globalization;
 using System.Text;
 using Microsoft.Extensions.Logging;
@@ -26,6 +27,31 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
         SolidTable,
     }
 
+    /// <summary>
+    /// What to do with the value that is wider than the column.
+    /// </summary>
+    public enum Overflow
+    {
+        /// <summary>
+        /// Write the whole value and shift the next columns.
+        /// </summary>
+        Expand,
+
+        /// <summary>
+        /// Cut the value to the column width.
+        /// </summary>
+        Truncate,
+
+        /// <summary>
+        /// Continue the value on the next lines.
+        /// </summary>
+        Wrap,
+    }
+
+    private const int WriterBufferSize = 16 * 1024;
+    private const int FormatBufferSize = 256;
+    private const char Ellipsis = '\u2026';
+
     private readonly Stream _stream;
     private int[] _totalMaxLineLength = [];
     private StreamWriter _streamWriter = StreamWriter.Null;
@@ -36,6 +62,9 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
     private readonly string _separator;
     private readonly string _separatorWithSpace;
     private readonly string _floatNumberFormat;
+    private readonly Overflow _overflow;
+    private char[] _formatBuffer = [];
+    private string?[] _wrapRemainders = [];
 
     private readonly Action _onHeader;
     private readonly Action<VariantValue[]> _onWrite;
@@ -50,6 +79,12 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
     /// </summary>
     public string Separator => _separator;
 
+    /// <summary>
+    /// Flush the writer after every row. Disable it to write the rows by large blocks
+    /// if the output is not interactive.
+    /// </summary>
+    public bool AutoFlush { get; set; } = true;
+
 #pragma warning disable SA1203
     private const char BoxBottomTop = '\u2502';
     private const char BoxLeftBottomRight = '\u252c';
@@ -69,11 +104,13 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
         bool hasHeader = true,
         string? separator = null,
         Style style = Style.Table1,
-        string? floatNumberFormat = null)
+        string? floatNumberFormat = null,
+        Overflow overflow = Overflow.Expand)
     {
         _stream = stream;
         _hasHeader = hasHeader;
         _floatNumberFormat = floatNumberFormat ?? VariantValue.FloatNumberFormat;
+        _overflow = overflow;
         Options = new RowsOutputOptions
         {
             RequiresColumnsLengthAdjust = true,
@@ -170,12 +207,14 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
         bool hasHeader = true,
         string? separator = null,
         Style style = Style.Table1,
-        string? floatNumberFormat = null) : this(
+        string? floatNumberFormat = null,
+        Overflow overflow = Overflow.Expand) : this(
             new StringBuilderStream(stringBuilder),
             hasHeader,
             separator,
             style,
-            floatNumberFormat)
+            floatNumberFormat,
+            overflow)
     {
     }
 
@@ -184,7 +223,11 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
     {
         if (_streamWriter == StreamWriter.Null)
         {
-            _streamWriter = new StreamWriter(_stream, encoding: null, bufferSize: -1, leaveOpen: true);
+            _streamWriter = new StreamWriter(_stream, encoding: null, bufferSize: WriterBufferSize, leaveOpen: true);
+        }
+        if (_formatBuffer.Length == 0)
+        {
+            _formatBuffer = ArrayPool<char>.Shared.Rent(FormatBufferSize);
         }
         _logger.LogTrace("Text table opened.");
         return Task.CompletedTask;
@@ -206,7 +249,10 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
     protected override async ValueTask<ErrorCode> OnWriteAsync(VariantValue[] values, CancellationToken cancellationToken = default)
     {
         _onWrite.Invoke(values);
-        await _streamWriter.FlushAsync(cancellationToken);
+        if (AutoFlush)
+        {
+            await _streamWriter.FlushAsync(cancellationToken);
+        }
         return ErrorCode.OK;
     }
 
@@ -216,6 +262,7 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
         var columns = QueryContext.QueryInfo.Columns;
         _isSingleValue = columns.Length == 1 && columns[0].Name == Column.ValueColumnTitle;
         _columnsLengths = new int[columns.Length];
+        _wrapRemainders = new string?[columns.Length];
 
         _onHeader.Invoke();
         await _streamWriter.FlushAsync(cancellationToken);
@@ -250,7 +297,7 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
             _columnsLengths[i] = columns[i].Length;
 
             _streamWriter.Write(_separatorWithSpace);
-            _streamWriter.Write(columns[i].FullName.PadRight(_columnsLengths[i]));
+            WriteWithPadding(columns[i].FullName, _columnsLengths[i]);
             _streamWriter.Write(' ');
             currentMaxLength += _separatorWithSpace.Length + columns[i].Length + 1;
             _totalMaxLineLength[i] = currentMaxLength;
@@ -272,7 +319,7 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
 
             _columnsLengths[i] = columns[i].Length;
             _streamWriter.Write(_separatorWithSpace);
-            _streamWriter.Write(new string('-', _columnsLengths[i]));
+            WriteRepeat('-', _columnsLengths[i]);
             _streamWriter.Write(' ');
         }
         if (currentMaxLength > 0)
@@ -283,8 +330,18 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
     }
 
     private void OnTable1Write(VariantValue[] values)
+    {
+        var hasMoreLines = WriteTable1Line(values);
+        while (hasMoreLines)
+        {
+            hasMoreLines = WriteTable1Line(null);
+        }
+    }
+
+    private bool WriteTable1Line(VariantValue[]? values)
     {
         int writeCount = 0;
+        var hasMoreLines = false;
         var columns = QueryContext.QueryInfo.Columns;
         for (var i = 0; i < columns.Length; i++)
         {
@@ -297,24 +354,14 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
                 _streamWriter.Write(_separatorWithSpace);
                 writeCount += _separatorWithSpace.Length;
             }
-            var value = values[i];
-            var valueString = ToStringWithFormat(value);
-            var padding = _columnsLengths[i];
-            var exceed = _totalMaxLineLength[i] - writeCount - _columnsLengths[i] - 1;
-            if (exceed < 0)
-            {
-                padding = Math.Max(0, exceed + padding);
-            }
-            var valueWithPadding = valueString.PadRight(padding);
-            _streamWriter.Write(valueWithPadding);
-            _streamWriter.Write(' ');
-            writeCount += valueWithPadding.Length + 1;
+            hasMoreLines |= WriteCell(values, i, ref writeCount);
         }
         if (!_isSingleValue && writeCount > 0)
         {
             _streamWriter.Write(_separator);
         }
         _streamWriter.WriteLine();
+        return hasMoreLines;
     }
 
     private void OnTable1Footer()
@@ -363,7 +410,7 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
                 _streamWriter.Write(_separatorWithSpace);
                 separatorLength = _separatorWithSpace.Length;
             }
-            _streamWriter.Write(columns[i].FullName.PadRight(_columnsLengths[i]));
+            WriteWithPadding(columns[i].FullName, _columnsLengths[i]);
             _streamWriter.Write(' ');
             currentMaxLength += separatorLength + columns[i].Length + 1;
             _totalMaxLineLength[i] = currentMaxLength;
@@ -385,14 +432,24 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
             {
                 _streamWriter.Write("+-");
             }
-            _streamWriter.Write(new string('-', _columnsLengths[i] + 1));
+            WriteRepeat('-', _columnsLengths[i] + 1);
         }
         _streamWriter.WriteLine();
     }
 
     private void OnTable2Write(VariantValue[] values)
+    {
+        var hasMoreLines = WriteTable2Line(values);
+        while (hasMoreLines)
+        {
+            hasMoreLines = WriteTable2Line(null);
+        }
+    }
+
+    private bool WriteTable2Line(VariantValue[]? values)
     {
         int writeCount = 0;
+        var hasMoreLines = false;
         var columns = QueryContext.QueryInfo.Columns;
         for (var i = 0; i < columns.Length; i++)
         {
@@ -405,20 +462,10 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
                 _streamWriter.Write(_separatorWithSpace);
                 writeCount += _separatorWithSpace.Length;
             }
-            var value = values[i];
-            var valueString = ToStringWithFormat(value);
-            var padding = _columnsLengths[i];
-            var exceed = _totalMaxLineLength[i] - writeCount - _columnsLengths[i] - 1;
-            if (exceed < 0)
-            {
-                padding = Math.Max(0, exceed + padding);
-            }
-            var valueWithPadding = valueString.PadRight(padding);
-            _streamWriter.Write(valueWithPadding);
-            _streamWriter.Write(' ');
-            writeCount += valueWithPadding.Length + 1;
+            hasMoreLines |= WriteCell(values, i, ref writeCount);
         }
         _streamWriter.WriteLine();
+        return hasMoreLines;
     }
 
     private void OnTable2Footer()
@@ -463,9 +510,8 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
             {
                 continue;
             }
-            var valueString = ToStringWithFormat(values[i]);
             _streamWriter.Write(_separator);
-            _streamWriter.Write(valueString);
+            _streamWriter.Write(FormatValue(values[i]));
         }
         if (!_isSingleValue)
         {
@@ -499,9 +545,13 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
             {
                 continue;
             }
-            var valueString = ToStringWithFormat(values[i]);
-            _streamWriter.Write(columns[i].FullName.PadLeft(_maxColumnNameWidth));
-            _streamWriter.Write($" {_separator} {valueString}\n");
+            WriteRepeat(' ', _maxColumnNameWidth - columns[i].FullName.Length);
+            _streamWriter.Write(columns[i].FullName);
+            _streamWriter.Write(' ');
+            _streamWriter.Write(_separator);
+            _streamWriter.Write(' ');
+            _streamWriter.Write(FormatValue(values[i]));
+            _streamWriter.Write('\n');
         }
         _streamWriter.WriteLine();
     }
@@ -551,7 +601,7 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
             {
                 _streamWriter.Write(BoxLeftBottomRight);
             }
-            _streamWriter.Write(new string(BoxLeftRight, _columnsLengths[i] + 2));
+            WriteRepeat(BoxLeftRight, _columnsLengths[i] + 2);
         }
         _streamWriter.Write(BoxLeftBottom);
         _streamWriter.WriteLine();
@@ -574,7 +624,7 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
                 _streamWriter.Write(_separatorWithSpace);
                 separatorLength = _separatorWithSpace.Length;
             }
-            _streamWriter.Write(columns[i].FullName.PadRight(_columnsLengths[i]));
+            WriteWithPadding(columns[i].FullName, _columnsLengths[i]);
             _streamWriter.Write(' ');
             currentMaxLength += separatorLength + columns[i].Length + 1;
             _totalMaxLineLength[i] = currentMaxLength;
@@ -598,15 +648,25 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
             {
                 _streamWriter.Write(BoxLeftBottomRightTop);
             }
-            _streamWriter.Write(new string(BoxLeftRight, _columnsLengths[i] + 2));
+            WriteRepeat(BoxLeftRight, _columnsLengths[i] + 2);
         }
         _streamWriter.Write(BoxLeftBottomTop);
         _streamWriter.WriteLine();
     }
 
     private void OnSolidTableWrite(VariantValue[] values)
+    {
+        var hasMoreLines = WriteSolidTableLine(values);
+        while (hasMoreLines)
+        {
+            hasMoreLines = WriteSolidTableLine(null);
+        }
+    }
+
+    private bool WriteSolidTableLine(VariantValue[]? values)
     {
         int writeCount = 0;
+        var hasMoreLines = false;
         var columns = QueryContext.QueryInfo.Columns;
         _streamWriter.Write(_separatorWithSpace);
         for (var i = 0; i < columns.Length; i++)
@@ -620,21 +680,11 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
                 _streamWriter.Write(_separatorWithSpace);
                 writeCount += _separatorWithSpace.Length;
             }
-            var value = values[i];
-            var valueString = ToStringWithFormat(value);
-            var padding = _columnsLengths[i];
-            var exceed = _totalMaxLineLength[i] - writeCount - _columnsLengths[i] - 1;
-            if (exceed < 0)
-            {
-                padding = Math.Max(0, exceed + padding);
-            }
-            var valueWithPadding = valueString.PadRight(padding);
-            _streamWriter.Write(valueWithPadding);
-            _streamWriter.Write(' ');
-            writeCount += valueWithPadding.Length + 1;
+            hasMoreLines |= WriteCell(values, i, ref writeCount);
         }
         _streamWriter.Write(_separatorWithSpace);
         _streamWriter.WriteLine();
+        return hasMoreLines;
     }
 
     private void OnSolidTableFooter()
@@ -655,7 +705,7 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
             {
                 _streamWriter.Write(BoxLeftTopRight);
             }
-            _streamWriter.Write(new string(BoxLeftRight, _columnsLengths[i] + 2));
+            WriteRepeat(BoxLeftRight, _columnsLengths[i] + 2);
         }
         _streamWriter.Write(BoxLeftTop);
         _streamWriter.WriteLine();
@@ -664,8 +714,105 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
 
     #endregion
 
-    private string ToStringWithFormat(in VariantValue value)
+    /// <summary>
+    /// Write the table cell value with padding. If the previous values were wider than their columns,
+    /// the padding is reduced to get back to the columns positions.
+    /// </summary>
+    /// <param name="values">Row values or null to write the wrapped remainders.</param>
+    /// <param name="columnIndex">Column index.</param>
+    /// <param name="writeCount">Number of chars written within the line.</param>
+    /// <returns><c>True</c> if the value has been wrapped and there is a remainder for the next line.</returns>
+    private bool WriteCell(VariantValue[]? values, int columnIndex, ref int writeCount)
+    {
+        ReadOnlySpan<char> value;
+        if (values != null)
+        {
+            value = FormatValue(values[columnIndex]);
+        }
+        else
+        {
+            value = _wrapRemainders[columnIndex];
+            _wrapRemainders[columnIndex] = null;
+        }
+
+        var length = _columnsLengths[columnIndex];
+        var hasRemainder = false;
+        int written;
+        if (length > 0 && _overflow == Overflow.Truncate && value.Length > length)
+        {
+            _streamWriter.Write(value[..(length - 1)]);
+            _streamWriter.Write(Ellipsis);
+            written = length;
+        }
+        else
+        {
+            if (length > 0 && _overflow == Overflow.Wrap)
+            {
+                var newLineIndex = value.IndexOf('\n');
+                if (newLineIndex > -1 && newLineIndex <= length)
+                {
+                    _wrapRemainders[columnIndex] = value[(newLineIndex + 1)..].ToString();
+                    value = value[..newLineIndex].TrimEnd('\r');
+                    hasRemainder = true;
+                }
+                else if (value.Length > length)
+                {
+                    _wrapRemainders[columnIndex] = value[length..].ToString();
+                    value = value[..length];
+                    hasRemainder = true;
+                }
+            }
+            _streamWriter.Write(value);
+            written = value.Length;
+        }
+
+        var padding = length;
+        var exceed = _totalMaxLineLength[columnIndex] - writeCount - length - 1;
+        if (exceed < 0)
+        {
+            padding = Math.Max(0, exceed + padding);
+        }
+        WriteRepeat(' ', padding - written);
+        _streamWriter.Write(' ');
+        writeCount += Math.Max(written, padding) + 1;
+        return hasRemainder;
+    }
+
+    /// <summary>
+    /// Format the value into the shared buffer to avoid string allocation. The result is valid
+    /// until the next call.
+    /// </summary>
+    /// <param name="value">Value to format.</param>
+    /// <returns>Formatted value.</returns>
+    private ReadOnlySpan<char> FormatValue(in VariantValue value)
     {
+        if (value.Type == DataType.String)
+        {
+            return value.AsStringSpanUnsafe;
+        }
+
+        var charsWritten = 0;
+        var formatted = value.Type switch
+        {
+            DataType.Integer => value.AsIntegerUnsafe.TryFormat(_formatBuffer, out charsWritten,
+                provider: CultureInfo.InvariantCulture),
+            DataType.Float => value.AsFloatUnsafe.TryFormat(_formatBuffer, out charsWritten,
+                _floatNumberFormat, Application.Culture),
+            DataType.Numeric => value.AsNumericUnsafe.TryFormat(_formatBuffer, out charsWritten,
+                _floatNumberFormat, Application.Culture),
+            DataType.Timestamp => value.AsTimestampUnsafe.TryFormat(_formatBuffer, out charsWritten,
+                provider: CultureInfo.InvariantCulture),
+            DataType.Interval => value.AsIntervalUnsafe.TryFormat(_formatBuffer, out charsWritten,
+                format: default, CultureInfo.InvariantCulture),
+            DataType.Boolean => value.AsBooleanUnsafe.TryFormat(_formatBuffer, out charsWritten),
+            _ => false,
+        };
+        if (formatted)
+        {
+            return _formatBuffer.AsSpan(0, charsWritten);
+        }
+
+        // Fallback, also used for the formats that do not fit into the buffer.
         var type = value.Type;
         if (type == DataType.Float || type == DataType.Numeric)
         {
@@ -674,9 +821,37 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
         return value.ToString(CultureInfo.InvariantCulture);
     }
 
+    private void WriteWithPadding(string value, int totalWidth)
+    {
+        _streamWriter.Write(value);
+        WriteRepeat(' ', totalWidth - value.Length);
+    }
+
+    private void WriteRepeat(char ch, int count)
+    {
+        Span<char> buffer = stackalloc char[64];
+        buffer.Fill(ch);
+        while (count > 0)
+        {
+            var size = Math.Min(count, buffer.Length);
+            _streamWriter.Write(buffer[..size]);
+            count -= size;
+        }
+    }
+
+    private void ReturnFormatBuffer()
+    {
+        if (_formatBuffer.Length > 0)
+        {
+            ArrayPool<char>.Shared.Return(_formatBuffer);
+            _formatBuffer = [];
+        }
+    }
+
     /// <inheritdoc />
     public void Dispose()
     {
+        ReturnFormatBuffer();
         _streamWriter.Dispose();
         _stream.Dispose();
     }
@@ -685,6 +860,7 @@ public sealed class TextTableOutput : RowsOutput, IDisposable, IAsyncDisposable
     public async ValueTask DisposeAsync()
     {
         await CloseAsync();
+        ReturnFormatBuffer();
         await _streamWriter.DisposeAsync();
         await _stream.DisposeAsync();
     }
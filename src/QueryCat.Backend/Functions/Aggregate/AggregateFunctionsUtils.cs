@@ -26,7 +26,7 @@ internal static class AggregateFunctionsUtils
         {
             if (state.IsNull)
             {
-                state = value;
+                state = value.Materialize();
             }
             else
             {
@@ -37,7 +37,7 @@ internal sealed class FirstValueAggregateFunction : IAggregateFunction
         var value = thread.Stack[0];
         if (!value.IsNull)
         {
-            state[0] = value;
+            state[0] = value.Materialize();
         }
     }
 
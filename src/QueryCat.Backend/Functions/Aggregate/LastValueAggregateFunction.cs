@@ -32,7 +32,7 @@ internal sealed class LastValueAggregateFunction : IAggregateFunction
         var value = thread.Stack[0];
         if (!value.IsNull)
         {
-            state[0] = value;
+            state[0] = value.Materialize();
         }
     }
 
@@ -31,11 +31,11 @@ internal sealed class MinAggregateFunction : IAggregateFunction
         var comparer = VariantValue.GetLessDelegate(value.Type, state[0].Type);
         if (state[0].IsNull)
         {
-            state[0] = value;
+            state[0] = value.Materialize();
         }
         else if (comparer.Invoke(in value, in state[0]).AsBoolean)
         {
-            state[0] = value;
+            state[0] = value.Materialize();
         }
     }
 
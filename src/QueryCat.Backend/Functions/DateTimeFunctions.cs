@@ -43,7 +43,7 @@ internal static class DateTimeFunctions
     [FunctionSignature("date_part(field: string, source: timestamp): integer")]
     public static VariantValue Extract(IExecutionThread thread)
     {
-        var field = thread.Stack[0].AsString.Trim().ToUpperInvariant();
+        var field = GetFieldName(thread, thread.Stack[0].AsString);
         var source = thread.Stack[1];
         if (source.IsNull)
         {
@@ -85,7 +85,7 @@ internal static class DateTimeFunctions
     [FunctionSignature("date_trunc(field: string, source: interval): interval")]
     public static VariantValue Trunc(IExecutionThread thread)
     {
-        var field = thread.Stack[0].AsString.Trim().ToUpperInvariant();
+        var field = GetFieldName(thread, thread.Stack[0].AsString);
         var source = thread.Stack[1];
         if (source.IsNull)
         {
@@ -131,7 +131,7 @@ internal static class DateTimeFunctions
     [FunctionSignature("date_add(datepart: string, number: integer, source: timestamp): timestamp")]
     public static VariantValue DateAdd(IExecutionThread thread)
     {
-        var datepart = thread.Stack[0].AsString.Trim().ToUpperInvariant();
+        var datepart = GetFieldName(thread, thread.Stack[0].AsString);
         var number = (int)(thread.Stack[1].AsInteger ?? 0);
         var source = thread.Stack[2];
         if (source.IsNull || !source.AsTimestamp.HasValue)
@@ -155,6 +155,19 @@ internal static class DateTimeFunctions
         return new VariantValue(timestamp);
     }
 
+    /// <summary>
+    /// Normalize the date part field name. The field is usually constant, so the result
+    /// is kept within the function call site cache.
+    /// </summary>
+    /// <param name="thread">Execution thread.</param>
+    /// <param name="field">Field name.</param>
+    /// <returns>Normalized field name.</returns>
+    private static string GetFieldName(IExecutionThread thread, string field)
+        => FunctionCallSiteCache.GetOrAdd(
+            thread.Stack.CallSiteCache,
+            field,
+            static f => f.Trim().ToUpperInvariant());
+
     public static void RegisterFunctions(IFunctionsManager functionsManager)
     {
         functionsManager.RegisterFunction(ToDate);
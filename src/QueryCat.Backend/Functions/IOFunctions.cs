@@ -101,8 +101,8 @@ internal static class IOFunctions
         return VariantValue.CreateFromObject(input);
     }
 
-    [Description("Write data to a file.")]
-    [FunctionSignature("write_file(path: string, fmt?: object<IRowsFormatter>): object<IRowsOutput>")]
+    [Description("Write data to a file. In atomic mode the data is written into the temporary file that replaces the target file on success.")]
+    [FunctionSignature("write_file(path: string, fmt?: object<IRowsFormatter>, atomic: boolean := false): object<IRowsOutput>")]
     public static async ValueTask<VariantValue> WriteFileAsync(IExecutionThread thread, CancellationToken cancellationToken)
     {
         var pathArgument = thread.Stack[0];
@@ -119,23 +119,39 @@ internal static class IOFunctions
         {
             Directory.CreateDirectory(fullDirectory);
         }
+        var isAtomic = thread.Stack.FrameLength > 2 && thread.Stack[2].AsBoolean;
+        AtomicFileStream? atomicFileStream = null;
+        Stream? outputStream = null;
         var blobFile = new StreamBlobData(() =>
             {
-                Stream file = new FileStream(
-                    path,
-                    FileMode.Create,
-                    FileAccess.Write,
-                    FileShare.ReadWrite);
+                Stream file;
+                if (isAtomic)
+                {
+                    atomicFileStream = new AtomicFileStream(path);
+                    file = atomicFileStream;
+                }
+                else
+                {
+                    file = new FileStream(
+                        path,
+                        FileMode.Create,
+                        FileAccess.Write,
+                        FileShare.ReadWrite);
+                }
                 if (_compressFilesExtensions.Contains(Path.GetExtension(path), StringComparer.InvariantCultureIgnoreCase))
                 {
                     file = new GZipStream(file, CompressionMode.Compress, leaveOpen: false);
                 }
+                outputStream = file;
                 return file;
             },
             File_GetContentType(path),
             Path.GetFileName(path)
         );
-        return VariantValue.CreateFromObject(formatter.OpenOutput(blobFile));
+        var output = isAtomic
+            ? new AtomicFileRowsOutput(() => formatter.OpenOutput(blobFile), () => atomicFileStream, () => outputStream)
+            : formatter.OpenOutput(blobFile);
+        return VariantValue.CreateFromObject(output);
     }
 
     private static async IAsyncEnumerable<IRowsInput> File_GetFileInputsByPath(
@@ -1,3 +1,4 @@
+using System.Collections.Concurrent;
 using System.ComponentModel;
 using System.Text.RegularExpressions;
 using QueryCat.Backend.Core;
@@ -241,16 +242,15 @@ internal static class StringFunctions
         {
             return VariantValue.Null;
         }
-        var options = FlagsToRegexOptions(thread.Stack[5].AsString);
+        var regex = GetRegex(thread, thread.Stack[1].AsString, thread.Stack[5].AsString);
 
         var target = thread.Stack[0].AsString;
-        var pattern = thread.Stack[1].AsString;
         var start = (int)startValue.Value - 1;
         var n = (int)nValue.Value - 1;
         var subexpr = (int)subexprValue.Value - 1;
 
         target = StringUtils.SafeSubstring(target, start);
-        var matches = Regex.Matches(target, pattern, options);
+        var matches = regex.Matches(target);
         if (n < 0 || n > matches.Count - 1)
         {
             return VariantValue.Null;
@@ -275,12 +275,11 @@ internal static class StringFunctions
         }
 
         var target = thread.Stack[0].AsString;
-        var pattern = thread.Stack[1].AsString;
+        var regex = GetRegex(thread, thread.Stack[1].AsString, thread.Stack[3].AsString);
         var start = (int)startValue.Value - 1;
-        var options = FlagsToRegexOptions(thread.Stack[3].AsString);
 
         target = StringUtils.SafeSubstring(target, start);
-        var matches = Regex.Matches(target, pattern, options);
+        var matches = regex.Matches(target);
         return new VariantValue(matches.Count);
     }
 
@@ -296,13 +295,12 @@ internal static class StringFunctions
         }
 
         var target = thread.Stack[0].AsString;
-        var pattern = thread.Stack[1].AsString;
+        var regex = GetRegex(thread, thread.Stack[1].AsString, thread.Stack[4].AsString);
         var replacement = thread.Stack[2].AsString;
         var start = (int)startValue.Value - 1;
-        var options = FlagsToRegexOptions(thread.Stack[4].AsString);
 
         target = StringUtils.SafeSubstring(target, start);
-        var result = Regex.Replace(target, pattern, replacement, options);
+        var result = regex.Replace(target, replacement);
         return new VariantValue(result);
     }
 
@@ -312,10 +310,9 @@ internal static class StringFunctions
     public static VariantValue RegexpStringToTable(IExecutionThread thread)
     {
         var target = thread.Stack[0].AsString;
-        var pattern = thread.Stack[1].AsString;
-        var flags = thread.Stack[2].AsString;
+        var regex = GetRegex(thread, thread.Stack[1].AsString, thread.Stack[2].AsString);
 
-        var result = Regex.Split(target, pattern, FlagsToRegexOptions(flags));
+        var result = regex.Split(target);
         var input = EnumerableRowsInput<string>.FromSource(
             result,
             builder => builder.AddProperty(Column.ValueColumnTitle, p => p, "String part."));
@@ -353,6 +350,43 @@ internal static class StringFunctions
         return new VariantValue(blob);
     }
 
+    private const int SharedRegexCacheSize = 32;
+
+    // Used when there is no call site cache (the function is called directly, not from a query).
+    private static readonly ConcurrentDictionary<(string Pattern, string Flags), Regex> _sharedRegexCache = new();
+
+    /// <summary>
+    /// Get the regular expression for the pattern and flags. Because pattern and flags are usually
+    /// constant, the compiled expression is kept within the function call site cache. If there is no
+    /// call site cache, the small shared cache is used instead.
+    /// </summary>
+    /// <param name="thread">Execution thread.</param>
+    /// <param name="pattern">Regular expression pattern.</param>
+    /// <param name="flags">Flags.</param>
+    /// <returns>Instance of <see cref="Regex" />.</returns>
+    private static Regex GetRegex(IExecutionThread thread, string pattern, string? flags)
+    {
+        var key = (Pattern: pattern, Flags: flags ?? string.Empty);
+        var callSiteCache = thread.Stack.CallSiteCache;
+        if (callSiteCache != null)
+        {
+            return callSiteCache.GetOrAdd(key, CreateRegex);
+        }
+
+        if (_sharedRegexCache.TryGetValue(key, out var regex))
+        {
+            return regex;
+        }
+        if (_sharedRegexCache.Count >= SharedRegexCacheSize)
+        {
+            _sharedRegexCache.Clear();
+        }
+        return _sharedRegexCache.GetOrAdd(key, CreateRegex);
+    }
+
+    private static Regex CreateRegex((string Pattern, string Flags) key)
+        => new(key.Pattern, FlagsToRegexOptions(key.Flags));
+
     internal static RegexOptions FlagsToRegexOptions(string? flags)
     {
         var options = RegexOptions.None;
@@ -109,7 +109,7 @@ internal sealed class OrderColumnsIndex : IOrderIndex
                 foreach (var valueGetter in _orderColumnsIndex._valueGetters)
                 {
                     var value = await valueGetter.InvokeAsync(_orderColumnsIndex._thread, cancellationToken);
-                    _values.Add(value);
+                    _values.Add(value.Materialize());
                 }
             }
         }
@@ -77,6 +77,7 @@ internal sealed class BufferRowsOutput : BufferRowsSource, IRowsOutput
         {
             var row = new Row(_rowsSource.QueryContext.QueryInfo.Columns);
             Row.Copy(values, row);
+            VariantValue.Materialize(row.Values);
             RowsQueue.Enqueue(row);
         }
         finally
@@ -39,6 +39,7 @@ internal sealed class ParallelRowsOutput : ParallelRowsSource, IRowsOutput
     {
         var localValues = new VariantValue[values.Length];
         Array.Copy(values, localValues, values.Length);
+        VariantValue.Materialize(localValues);
         await AddTask(ct => _output.WriteValuesAsync(localValues, ct).AsTask(), cancellationToken);
         return ErrorCode.OK;
     }
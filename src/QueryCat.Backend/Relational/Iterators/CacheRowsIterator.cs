@@ -1,5 +1,6 @@
 using System.Diagnostics;
 using QueryCat.Backend.Core.Data;
+using QueryCat.Backend.Core.Types;
 
 namespace QueryCat.Backend.Relational.Iterators;
 
@@ -98,7 +99,7 @@ public sealed class CacheRowsIterator : IRowsIteratorParent, ICursorRowsIterator
     /// <param name="row">Row to add.</param>
     public void AddLast(Row row)
     {
-        _cache.Add(new Row(row));
+        _cache.Add(CreateCachedRow(row));
         _cursor++;
     }
 
@@ -160,7 +161,7 @@ public sealed class CacheRowsIterator : IRowsIteratorParent, ICursorRowsIterator
         _currentRow = _rowsIterator.Current;
         if (_cursor < _cacheSize || _cacheSize == -1)
         {
-            _cache.Add(new Row(_currentRow));
+            _cache.Add(CreateCachedRow(_currentRow));
         }
         _cursor++;
         return true;
@@ -261,6 +262,13 @@ public sealed class CacheRowsIterator : IRowsIteratorParent, ICursorRowsIterator
         }
     }
 
+    private static Row CreateCachedRow(Row row)
+    {
+        var cachedRow = new Row(row);
+        VariantValue.Materialize(cachedRow.Values);
+        return cachedRow;
+    }
+
     /// <inheritdoc />
     public IEnumerable<IRowsSchema> GetChildren()
     {
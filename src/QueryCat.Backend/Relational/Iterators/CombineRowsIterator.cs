@@ -106,8 +106,9 @@ internal sealed class CombineRowsIterator : IRowsIterator, IRowsIteratorParent
             {
                 var arr = new VariantValueArray(Current.AsArray(copy: true));
 
-                if (_distinctValues.Add(arr))
+                if (!_distinctValues.Contains(arr))
                 {
+                    _distinctValues.Add(arr.Materialize());
                     return true;
                 }
             }
@@ -148,7 +149,7 @@ internal sealed class CombineRowsIterator : IRowsIterator, IRowsIteratorParent
         while (await _rightIterator.MoveNextAsync(cancellationToken))
         {
             var arr = new VariantValueArray(_rightIterator.Current.AsArray(copy: true));
-            _rightRows.Add(arr);
+            _rightRows.Add(arr.Materialize());
         }
 
         _isRightInitialized = true;
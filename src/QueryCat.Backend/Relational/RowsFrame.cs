@@ -110,7 +110,9 @@ public class RowsFrame : IRowsSchema, IEnumerable<Row>
             throw new QueryCatException(Resources.Errors.ColumnsCountNoMatch);
         }
         (int chunkIndex, int offset) = EnsureCapacityAndGetStartOffset(TotalRows);
-        Array.Copy(values, 0, _storage[chunkIndex], offset, _columns.Length);
+        var destination = _storage[chunkIndex].AsSpan(offset, _columns.Length);
+        values.AsSpan(0, _columns.Length).CopyTo(destination);
+        VariantValue.Materialize(destination);
         return TotalRows++;
     }
 
@@ -125,7 +127,7 @@ public class RowsFrame : IRowsSchema, IEnumerable<Row>
         {
             if (values[i] is VariantValue rowValue)
             {
-                _storage[chunkIndex][offset + i] = rowValue;
+                _storage[chunkIndex][offset + i] = rowValue.Materialize();
             }
             else
             {
@@ -155,7 +157,7 @@ public class RowsFrame : IRowsSchema, IEnumerable<Row>
     public void UpdateValue(int rowIndex, int columnIndex, VariantValue value)
     {
         var (chunkIndex, offset) = GetChunkAndOffsetValidate(rowIndex);
-        _storage[chunkIndex][offset + columnIndex] = value;
+        _storage[chunkIndex][offset + columnIndex] = value.Materialize();
     }
 
     /// <summary>
@@ -170,7 +172,9 @@ public class RowsFrame : IRowsSchema, IEnumerable<Row>
             Columns.Length, nameof(values));
 
         var (chunkIndex, offset) = GetChunkAndOffsetValidate(rowIndex);
-        values.CopyTo(_storage[chunkIndex].AsSpan(offset + columnIndexOffset, values.Length));
+        var destination = _storage[chunkIndex].AsSpan(offset + columnIndexOffset, values.Length);
+        values.CopyTo(destination);
+        VariantValue.Materialize(destination);
     }
 
     /// <summary>
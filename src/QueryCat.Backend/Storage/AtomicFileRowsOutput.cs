@@ -0,0 +1,185 @@
+using Microsoft.Extensions.Logging;
+using QueryCat.Backend.Core;
+using QueryCat.Backend.Core.Data;
+using QueryCat.Backend.Core.Types;
+using QueryCat.Backend.Utils;
+
+namespace QueryCat.Backend.Storage;
+
+/// <summary>
+/// The output writes into the temporary file and replaces the target file with it on close.
+/// The target file is replaced only if the write has been committed and there were no write errors.
+/// Otherwise, the temporary file is removed and the target file is not changed. The underlying output
+/// is created on open, so the temporary file is not created for the output that has never been opened.
+/// </summary>
+internal sealed class AtomicFileRowsOutput : IRowsOutputBatch, IRowsOutputCommit, IDisposable
+{
+    private static readonly RowsOutputOptions _defaultOptions = new();
+
+    private readonly Func<IRowsOutput> _rowsOutputFactory;
+    private IRowsOutput? _rowsOutput;
+    private QueryContext _queryContext = NullQueryContext.Instance;
+    private readonly Func<AtomicFileStream?> _atomicFileStreamAccessor;
+    private readonly Func<Stream?> _outputStreamAccessor;
+    private bool _isCommitted;
+    private bool _hasErrors;
+
+    private readonly ILogger _logger = Application.LoggerFactory.CreateLogger(nameof(AtomicFileRowsOutput));
+
+    /// <inheritdoc />
+    public QueryContext QueryContext
+    {
+        get => _queryContext;
+        set
+        {
+            _queryContext = value;
+            if (_rowsOutput != null)
+            {
+                _rowsOutput.QueryContext = value;
+            }
+        }
+    }
+
+    /// <inheritdoc />
+    public RowsOutputOptions Options => _rowsOutput?.Options ?? _defaultOptions;
+
+    /// <summary>
+    /// Constructor.
+    /// </summary>
+    /// <param name="rowsOutputFactory">Creates the output that writes into the atomic file stream.</param>
+    /// <param name="atomicFileStreamAccessor">Returns the atomic file stream or null if the output
+    /// has not opened it yet.</param>
+    /// <param name="outputStreamAccessor">Returns the stream that was passed to the output. It can be
+    /// the wrapper of the atomic file stream (for example, compression stream) that must be disposed first.</param>
+    public AtomicFileRowsOutput(
+        Func<IRowsOutput> rowsOutputFactory,
+        Func<AtomicFileStream?> atomicFileStreamAccessor,
+        Func<Stream?> outputStreamAccessor)
+    {
+        _rowsOutputFactory = rowsOutputFactory;
+        _atomicFileStreamAccessor = atomicFileStreamAccessor;
+        _outputStreamAccessor = outputStreamAccessor;
+    }
+
+    /// <inheritdoc />
+    public Task OpenAsync(CancellationToken cancellationToken = default)
+    {
+        if (_rowsOutput == null)
+        {
+            _rowsOutput = _rowsOutputFactory.Invoke();
+            _rowsOutput.QueryContext = _queryContext;
+        }
+        return _rowsOutput.OpenAsync(cancellationToken);
+    }
+
+    /// <inheritdoc />
+    public void Commit() => _isCommitted = true;
+
+    /// <inheritdoc />
+    public async Task CloseAsync(CancellationToken cancellationToken = default)
+    {
+        try
+        {
+            if (_rowsOutput != null)
+            {
+                await _rowsOutput.CloseAsync(cancellationToken);
+            }
+        }
+        catch
+        {
+            _hasErrors = true;
+            throw;
+        }
+        finally
+        {
+            var atomicFileStream = _atomicFileStreamAccessor.Invoke();
+            if (atomicFileStream != null)
+            {
+                if (_isCommitted && !_hasErrors)
+                {
+                    atomicFileStream.Commit();
+                }
+                else
+                {
+                    _logger.LogDebug("Write has not been completed, remove temporary file '{File}'.",
+                        atomicFileStream.TemporaryFile);
+                }
+            }
+            var outputStream = _outputStreamAccessor.Invoke();
+            if (outputStream != null)
+            {
+                await outputStream.DisposeAsync();
+            }
+            if (atomicFileStream != null)
+            {
+                await atomicFileStream.DisposeAsync();
+            }
+        }
+    }
+
+    /// <inheritdoc />
+    public Task ResetAsync(CancellationToken cancellationToken = default)
+        => _rowsOutput != null ? _rowsOutput.ResetAsync(cancellationToken) : Task.CompletedTask;
+
+    /// <inheritdoc />
+    public async ValueTask<ErrorCode> WriteValuesAsync(VariantValue[] values, CancellationToken cancellationToken = default)
+    {
+        try
+        {
+            return CheckErrorCode(await GetRowsOutput().WriteValuesAsync(values, cancellationToken));
+        }
+        catch
+        {
+            _hasErrors = true;
+            throw;
+        }
+    }
+
+    /// <inheritdoc />
+    public async ValueTask<ErrorCode> WriteBatchAsync(IReadOnlyList<VariantValue[]> rows, CancellationToken cancellationToken = default)
+    {
+        try
+        {
+            var rowsOutput = GetRowsOutput();
+            if (rowsOutput is IRowsOutputBatch rowsOutputBatch)
+            {
+                return CheckErrorCode(await rowsOutputBatch.WriteBatchAsync(rows, cancellationToken));
+            }
+            for (var i = 0; i < rows.Count; i++)
+            {
+                var result = CheckErrorCode(await rowsOutput.WriteValuesAsync(rows[i], cancellationToken));
+                if (result != ErrorCode.OK)
+                {
+                    return result;
+                }
+            }
+            return ErrorCode.OK;
+        }
+        catch
+        {
+            _hasErrors = true;
+            throw;
+        }
+    }
+
+    private IRowsOutput GetRowsOutput()
+        => _rowsOutput ?? throw new InvalidOperationException(Resources.Errors.InvalidOperation);
+
+    private ErrorCode CheckErrorCode(ErrorCode errorCode)
+    {
+        if (errorCode != ErrorCode.OK)
+        {
+            _hasErrors = true;
+        }
+        return errorCode;
+    }
+
+    /// <inheritdoc />
+    public void Dispose()
+    {
+        // If the output has not been closed, the temporary file is discarded.
+        (_rowsOutput as IDisposable)?.Dispose();
+        _outputStreamAccessor.Invoke()?.Dispose();
+        _atomicFileStreamAccessor.Invoke()?.Dispose();
+    }
+}
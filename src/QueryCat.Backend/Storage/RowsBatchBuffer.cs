@@ -0,0 +1,103 @@
+using QueryCat.Backend.Core;
+using QueryCat.Backend.Core.Data;
+using QueryCat.Backend.Core.Types;
+
+namespace QueryCat.Backend.Storage;
+
+/// <summary>
+/// Reusable rows buffer for <see cref="IRowsOutputBatch" />. The rows arrays are allocated once
+/// and the values are copied into them.
+/// </summary>
+internal sealed class RowsBatchBuffer
+{
+    public const int DefaultBatchSize = 256;
+
+    private readonly VariantValue[][] _rows;
+
+    /// <summary>
+    /// Number of rows in the buffer.
+    /// </summary>
+    public int Count { get; private set; }
+
+    /// <summary>
+    /// Is buffer full and must be written.
+    /// </summary>
+    public bool IsFull => Count == _rows.Length;
+
+    /// <summary>
+    /// Buffered rows.
+    /// </summary>
+    public IReadOnlyList<VariantValue[]> Rows => new ArraySegment<VariantValue[]>(_rows, 0, Count);
+
+    public RowsBatchBuffer(int batchSize = DefaultBatchSize)
+    {
+        _rows = new VariantValue[batchSize][];
+    }
+
+    /// <summary>
+    /// Copy row values into the buffer.
+    /// </summary>
+    /// <param name="values">Values.</param>
+    public void Add(VariantValue[] values)
+    {
+        var row = _rows[Count];
+        if (row == null || row.Length != values.Length)
+        {
+            row = new VariantValue[values.Length];
+            _rows[Count] = row;
+        }
+        Array.Copy(values, row, values.Length);
+        VariantValue.Materialize(row);
+        Count++;
+    }
+
+    /// <summary>
+    /// Remove all rows. The rows arrays are kept for the reuse.
+    /// </summary>
+    public void Clear()
+    {
+        Count = 0;
+    }
+
+    /// <summary>
+    /// Write all rows from iterator into the output by batches. The write stops on the first
+    /// batch that has not been written successfully.
+    /// </summary>
+    /// <param name="output">Output.</param>
+    /// <param name="iterator">Rows iterator.</param>
+    /// <param name="cancellationToken">Cancellation token.</param>
+    /// <returns>Number of written rows and the error code of the last write.</returns>
+    public async Task<(int WriteCount, ErrorCode ErrorCode)> WriteAsync(
+        IRowsOutputBatch output,
+        IRowsIterator iterator,
+        CancellationToken cancellationToken)
+    {
+        var writeCount = 0;
+        Clear();
+        while (await iterator.MoveNextAsync(cancellationToken))
+        {
+            Add(iterator.Current.Values);
+            if (IsFull)
+            {
+                var errorCode = await output.WriteBatchAsync(Rows, cancellationToken);
+                if (errorCode != ErrorCode.OK)
+                {
+                    return (writeCount, errorCode);
+                }
+                writeCount += Count;
+                Clear();
+            }
+        }
+        if (Count > 0)
+        {
+            var errorCode = await output.WriteBatchAsync(Rows, cancellationToken);
+            if (errorCode != ErrorCode.OK)
+            {
+                return (writeCount, errorCode);
+            }
+            writeCount += Count;
+            Clear();
+        }
+        return (writeCount, ErrorCode.OK);
+    }
+}
@@ -44,6 +44,23 @@ public abstract class RowsOutput : IRowsOutput
         return result;
     }
 
+    /// <summary>
+    /// Write rows. The method can be used to implement <see cref="IRowsOutputBatch" />.
+    /// </summary>
+    /// <param name="rows">Rows values to write.</param>
+    /// <param name="cancellationToken">Cancellation token.</param>
+    /// <returns>Error code.</returns>
+    public async ValueTask<ErrorCode> WriteBatchAsync(IReadOnlyList<VariantValue[]> rows, CancellationToken cancellationToken = default)
+    {
+        if (_isFirstCall)
+        {
+            await InitializeAsync(cancellationToken);
+            _isFirstCall = false;
+        }
+        var result = await OnWriteBatchAsync(rows, cancellationToken);
+        return result;
+    }
+
     /// <summary>
     /// Write a row.
     /// </summary>
@@ -51,6 +68,24 @@ public abstract class RowsOutput : IRowsOutput
     /// <param name="cancellationToken">Cancellation token.</param>
     protected abstract ValueTask<ErrorCode> OnWriteAsync(VariantValue[] values, CancellationToken cancellationToken = default);
 
+    /// <summary>
+    /// Write rows. By default, it writes rows one by one.
+    /// </summary>
+    /// <param name="rows">Rows values to write.</param>
+    /// <param name="cancellationToken">Cancellation token.</param>
+    protected virtual async ValueTask<ErrorCode> OnWriteBatchAsync(IReadOnlyList<VariantValue[]> rows, CancellationToken cancellationToken = default)
+    {
+        for (var i = 0; i < rows.Count; i++)
+        {
+            var result = await OnWriteAsync(rows[i], cancellationToken);
+            if (result != ErrorCode.OK)
+            {
+                return result;
+            }
+        }
+        return ErrorCode.OK;
+    }
+
     /// <summary>
     /// The method is called before first Write to initialize input.
     /// </summary>
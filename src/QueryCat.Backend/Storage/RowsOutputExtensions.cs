@@ -31,10 +31,13 @@ public static class RowsOutputExtensions
             {
                 iterator = new AdjustColumnsLengthsIterator(iterator);
             }
+            // Rows are written one by one, because the iterator can be the stream
+            // (for example, follow mode) and the output must not wait for the batch to fill.
             while (await iterator.MoveNextAsync(cancellationToken))
             {
                 await output.WriteValuesAsync(iterator.Current.Values, cancellationToken);
             }
+            (output as IRowsOutputCommit)?.Commit();
         }
         finally
         {
@@ -92,6 +92,8 @@ public abstract class StreamRowsInput : IRowsInput, IDisposable, IModelDescripti
 
     private readonly DelimiterStreamReader _delimiterStreamReader;
 
+    private readonly StringSliceBuffer _stringSliceBuffer = new();
+
     private readonly ILogger _logger = Application.LoggerFactory.CreateLogger(nameof(StreamRowsInput));
 
     /// <summary>
@@ -156,7 +158,7 @@ public abstract class StreamRowsInput : IRowsInput, IDisposable, IModelDescripti
     /// <returns>Error code.</returns>
     protected virtual ErrorCode ReadValueInternal(int nonVirtualColumnIndex, DataType type, out VariantValue value)
     {
-        var errorCode = VariantValue.TryCreateFromString(
+        var errorCode = _stringSliceBuffer.TryCreateFromString(
             _delimiterStreamReader.GetField(nonVirtualColumnIndex),
             type,
             out value)
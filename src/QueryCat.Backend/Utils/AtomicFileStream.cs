@@ -0,0 +1,105 @@
+namespace QueryCat.Backend.Utils;
+
+/// <summary>
+/// The write-only stream that writes into the temporary file within the target file directory.
+/// If the stream was committed, on dispose the temporary file replaces the target file. Otherwise,
+/// it is removed and the target file stays unchanged.
+/// </summary>
+internal sealed class AtomicFileStream : Stream
+{
+    private readonly FileStream _fileStream;
+    private readonly string _targetFile;
+    private bool _isCommitted;
+    private bool _isDisposed;
+
+    /// <summary>
+    /// Temporary file path.
+    /// </summary>
+    public string TemporaryFile { get; }
+
+    /// <inheritdoc />
+    public override bool CanRead => false;
+
+    /// <inheritdoc />
+    public override bool CanSeek => false;
+
+    /// <inheritdoc />
+    public override bool CanWrite => true;
+
+    /// <inheritdoc />
+    public override long Length => _fileStream.Length;
+
+    /// <inheritdoc />
+    public override long Position
+    {
+        get => _fileStream.Position;
+        set => throw new NotSupportedException();
+    }
+
+    public AtomicFileStream(string targetFile)
+    {
+        _targetFile = Path.GetFullPath(targetFile);
+        var directory = Path.GetDirectoryName(_targetFile) ?? string.Empty;
+        TemporaryFile = Path.Combine(directory, $".{Path.GetFileName(_targetFile)}.{Guid.NewGuid():N}.tmp");
+        _fileStream = new FileStream(TemporaryFile, FileMode.CreateNew, FileAccess.Write, FileShare.None);
+    }
+
+    /// <summary>
+    /// Mark the stream as completed. The target file will be replaced on dispose.
+    /// </summary>
+    public void Commit() => _isCommitted = true;
+
+    /// <inheritdoc />
+    public override void Flush() => _fileStream.Flush();
+
+    /// <inheritdoc />
+    public override Task FlushAsync(CancellationToken cancellationToken) => _fileStream.FlushAsync(cancellationToken);
+
+    /// <inheritdoc />
+    public override int Read(byte[] buffer, int offset, int count) => throw new NotSupportedException();
+
+    /// <inheritdoc />
+    public override long Seek(long offset, SeekOrigin origin) => throw new NotSupportedException();
+
+    /// <inheritdoc />
+    public override void SetLength(long value) => throw new NotSupportedException();
+
+    /// <inheritdoc />
+    public override void Write(byte[] buffer, int offset, int count) => _fileStream.Write(buffer, offset, count);
+
+    /// <inheritdoc />
+    public override void Write(ReadOnlySpan<byte> buffer) => _fileStream.Write(buffer);
+
+    /// <inheritdoc />
+    public override void WriteByte(byte value) => _fileStream.WriteByte(value);
+
+    /// <inheritdoc />
+    public override Task WriteAsync(byte[] buffer, int offset, int count, CancellationToken cancellationToken)
+        => _fileStream.WriteAsync(buffer, offset, count, cancellationToken);
+
+    /// <inheritdoc />
+    public override ValueTask WriteAsync(ReadOnlyMemory<byte> buffer, CancellationToken cancellationToken = default)
+        => _fileStream.WriteAsync(buffer, cancellationToken);
+
+    /// <inheritdoc />
+    protected override void Dispose(bool disposing)
+    {
+        if (disposing && !_isDisposed)
+        {
+            _isDisposed = true;
+            if (_isCommitted)
+            {
+                // Make sure the data is on disk before the file replace.
+                _fileStream.Flush(flushToDisk: true);
+                _fileStream.Dispose();
+                File.Move(TemporaryFile, _targetFile, overwrite: true);
+            }
+            else
+            {
+                _fileStream.Dispose();
+                File.Delete(TemporaryFile);
+            }
+        }
+        base.Dispose(disposing);
+    }
+}
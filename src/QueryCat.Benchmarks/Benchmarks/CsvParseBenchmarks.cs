@@ -61,6 +61,26 @@ public class CsvParseBenchmarks
         return rowsFrame.TotalRows;
     }
 
+    [Benchmark]
+    public async Task<int> FilterAllUsersWithDsvFormatter()
+    {
+        var fileBlobData = new StreamBlobData(UsersCsvFile.OpenTestUsersFile);
+        var input = new DsvFormatter(',', addFileNameColumn: false).OpenInput(fileBlobData);
+        await input.OpenAsync();
+        var rowsIterator = input.AsIterable(autoFetch: true);
+        var state = new VariantValue("CA");
+        var count = 0;
+        while (await rowsIterator.MoveNextAsync())
+        {
+            var value = rowsIterator.Current[6]; // State.
+            if (VariantValue.Equals(in value, in state, out _).AsBoolean)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
     [Benchmark]
     public async Task<int> ReadAllUsersWithDelimiterStreamReader()
     {
@@ -0,0 +1,68 @@
+using BenchmarkDotNet.Attributes;
+using QueryCat.Backend;
+using QueryCat.Backend.AssemblyPlugins;
+using QueryCat.Backend.Core.Plugins;
+using QueryCat.Backend.Execution;
+
+namespace QueryCat.Benchmarks.Benchmarks;
+
+/// <summary>
+/// Compare the execution thread startup time with eager plugins loading and with the plugins manifests.
+/// The plugins directory is set by QCAT_BENCHMARK_PLUGINS environment variable.
+/// </summary>
+[MemoryDiagnoser]
+public class StartupBenchmarks
+{
+    private const string PluginsDirectoryVariable = "QCAT_BENCHMARK_PLUGINS";
+
+    private string[] _pluginDirectories = [];
+    private readonly string _manifestCacheDirectory = Path.Combine(Path.GetTempPath(), "qcat-benchmark-manifests");
+
+    [GlobalSetup]
+    public async Task GlobalSetup()
+    {
+        var pluginsDirectory = Environment.GetEnvironmentVariable(PluginsDirectoryVariable);
+        if (string.IsNullOrEmpty(pluginsDirectory) || !Directory.Exists(pluginsDirectory))
+        {
+            throw new InvalidOperationException(
+                $"Set {PluginsDirectoryVariable} environment variable to the directory with plugins.");
+        }
+        _pluginDirectories = [pluginsDirectory];
+
+        // Warm up manifests.
+        await using var executionThread = CreateExecutionThread(_manifestCacheDirectory);
+        await executionThread.PluginsManager.PluginsLoader.LoadAsync(new PluginsLoadingOptions());
+    }
+
+    [Benchmark(Baseline = true)]
+    public async Task LoadPluginsEager()
+    {
+        await using var executionThread = CreateExecutionThread(manifestCacheDirectory: null);
+        await executionThread.PluginsManager.PluginsLoader.LoadAsync(new PluginsLoadingOptions());
+    }
+
+    [Benchmark]
+    public async Task LoadPluginsWithManifest()
+    {
+        await using var executionThread = CreateExecutionThread(_manifestCacheDirectory);
+        await executionThread.PluginsManager.PluginsLoader.LoadAsync(new PluginsLoadingOptions());
+    }
+
+    [Benchmark]
+    public async Task LoadPluginsWithManifestAndSelect()
+    {
+        await using var executionThread = CreateExecutionThread(_manifestCacheDirectory);
+        await executionThread.PluginsManager.PluginsLoader.LoadAsync(new PluginsLoadingOptions());
+        await executionThread.RunAsync("select 1");
+    }
+
+    private DefaultExecutionThread CreateExecutionThread(string? manifestCacheDirectory)
+        => new ExecutionThreadBootstrapper()
+            .WithStandardFunctions()
+            .WithPluginsLoader(thread => new DotNetAssemblyPluginsLoader(
+                thread.FunctionsManager,
+                thread,
+                _pluginDirectories,
+                manifestCacheDirectory))
+            .Create();
+}
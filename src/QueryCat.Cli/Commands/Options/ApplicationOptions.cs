@@ -124,7 +124,9 @@ internal sealed class ApplicationOptions
             new QueryCat.Backend.AssemblyPlugins.DotNetAssemblyPluginsLoader(
                 thread.FunctionsManager,
                 thread,
-                executionOptions.PluginDirectories));
+                executionOptions.PluginDirectories,
+                manifestCacheDirectory: Path.Combine(Application.GetApplicationDirectory(),
+                    ApplicationPluginsFunctionsCacheDirectory)));
 #endif
 #if ENABLE_PLUGINS
         bootstrapper.WithPluginsManager(pluginsLoader => new DefaultPluginsManager(
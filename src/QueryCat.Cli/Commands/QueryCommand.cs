@@ -40,6 +40,11 @@ internal class QueryCommand : BaseQueryCommand
             Description = Resources.Messages.QueryCommand_AnalyzeRowsDescription,
             DefaultValueFactory = _ => 10,
         };
+        var outputOverflowOption = new Option<TextTableOutput.Overflow>("--output-overflow")
+        {
+            Description = Resources.Messages.QueryCommand_OutputOverflowDescription,
+            DefaultValueFactory = _ => TextTableOutput.Overflow.Expand,
+        };
         var skipIfNoColumnsOption = new Option<bool>("--skip-if-no-columns")
         {
             Description = Resources.Messages.QueryCommand_SkipIfNoColumnsDescription,
@@ -85,6 +90,7 @@ internal class QueryCommand : BaseQueryCommand
         this.Add(rowNumberOption);
         this.Add(pageSizeOption);
         this.Add(analyzeRowsOption);
+        this.Add(outputOverflowOption);
         this.Add(skipIfNoColumnsOption);
         this.Add(disableCacheOption);
         this.Add(noHeaderOption);
@@ -111,7 +117,12 @@ internal class QueryCommand : BaseQueryCommand
                 hasHeader: !parseResult.GetValue(noHeaderOption),
                 separator: parseResult.GetValue(ColumnsSeparatorOption),
                 style: parseResult.GetValue(OutputStyleOption),
-                floatNumberFormat: parseResult.GetValue(floatNumberOption));
+                floatNumberFormat: parseResult.GetValue(floatNumberOption),
+                overflow: parseResult.GetValue(outputOverflowOption))
+            {
+                // Write by blocks if nobody watches the output.
+                AutoFlush = !Console.IsOutputRedirected || parseResult.GetValue(followOption),
+            };
             var options = new AppExecutionOptions
             {
                 AddRowNumberColumn = parseResult.GetValue(rowNumberOption),
@@ -135,6 +135,12 @@ namespace QueryCat.Cli.Resources {
             }
         }
         
+        internal static string QueryCommand_OutputOverflowDescription {
+            get {
+                return ResourceManager.GetString("QueryCommand_OutputOverflowDescription", resourceCulture);
+            }
+        }
+        
         internal static string QueryCommand_ColumnsSeparatorDescription {
             get {
                 return ResourceManager.GetString("QueryCommand_ColumnsSeparatorDescription", resourceCulture);
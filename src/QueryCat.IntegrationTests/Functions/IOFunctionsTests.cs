@@ -0,0 +1,77 @@
+using Xunit;
+using QueryCat.Backend;
+using QueryCat.Backend.Core.Execution;
+using QueryCat.Backend.Core.Functions;
+using QueryCat.Backend.Core.Types;
+using QueryCat.Backend.Functions;
+using QueryCat.Tests.QueryRunner;
+
+namespace QueryCat.IntegrationTests.Functions;
+
+/// <summary>
+/// Tests for <see cref="IOFunctions" />.
+/// </summary>
+public sealed class IOFunctionsTests : IDisposable
+{
+    private readonly ExecutionThreadBootstrapper _executionThreadBootstrapper = TestThread.CreateBootstrapper();
+    private readonly string _directory = Path.Combine(Path.GetTempPath(), "qcat-tests-" + Guid.NewGuid().ToString("N"));
+    private readonly string _sourceFile;
+    private readonly string _targetFile;
+
+    public IOFunctionsTests()
+    {
+        Directory.CreateDirectory(_directory);
+        _sourceFile = Path.Combine(_directory, "source.csv");
+        _targetFile = Path.Combine(_directory, "target.csv");
+        File.WriteAllText(_sourceFile, "id\n1\n2\n3\n");
+        File.WriteAllText(_targetFile, "old");
+    }
+
+    [Fact]
+    public async Task WriteFile_AtomicInsert_ShouldReplaceTargetFile()
+    {
+        // Arrange.
+        await using var thread = _executionThreadBootstrapper.Create();
+
+        // Act.
+        await thread.RunAsync(
+            $"INSERT INTO write_file('{_targetFile}', atomic => true) SELECT id FROM read_file('{_sourceFile}');");
+
+        // Assert.
+        Assert.Contains("3", File.ReadAllText(_targetFile));
+        Assert.Equal(2, Directory.GetFiles(_directory).Length);
+    }
+
+    [Fact]
+    public async Task WriteFile_AtomicInsertSourceFails_ShouldKeepTargetFile()
+    {
+        // Arrange.
+        await using var thread = _executionThreadBootstrapper.Create();
+        thread.FunctionsManager.RegisterFunction(FailAt);
+
+        // Act.
+        await Assert.ThrowsAnyAsync<Exception>(async () => await thread.RunAsync(
+            $"INSERT INTO write_file('{_targetFile}', atomic => true) SELECT fail_at(id, 2) FROM read_file('{_sourceFile}');"));
+
+        // Assert.
+        Assert.Equal("old", File.ReadAllText(_targetFile));
+        Assert.Equal(2, Directory.GetFiles(_directory).Length);
+    }
+
+    [FunctionSignature("fail_at(value: integer, n: integer): integer")]
+    private static VariantValue FailAt(IExecutionThread thread)
+    {
+        var value = thread.Stack[0].AsInteger;
+        if (value == thread.Stack[1].AsInteger)
+        {
+            throw new InvalidOperationException($"Failed at {value}.");
+        }
+        return new VariantValue(value);
+    }
+
+    /// <inheritdoc />
+    public void Dispose()
+    {
+        Directory.Delete(_directory, recursive: true);
+    }
+}
@@ -6,7 +6,7 @@ using QueryCat.Backend.Core.Utils;
 
 namespace QueryCat.IntegrationTests.Inputs;
 
-public sealed class ItStocksRowsInput : EnumerableRowsInput<Stock>
+public sealed class ItStocksRowsInput : EnumerableKeysBatchRowsInput<Stock>
 {
     private readonly int _id = IdGenerator.GetNext();
 
@@ -48,6 +48,16 @@ public sealed class ItStocksRowsInput : EnumerableRowsInput<Stock>
         yield return item;
     }
 
+    /// <inheritdoc />
+    protected override Task<IEnumerable<Stock>> GetDataByKeysAsync(
+        string keyColumnName,
+        IReadOnlyList<VariantValue> keys,
+        CancellationToken cancellationToken = default)
+    {
+        var items = keys.SelectMany(k => _data.Where(s => s.Id == k.AsString)).ToList();
+        return Task.FromResult<IEnumerable<Stock>>(items);
+    }
+
     /// <inheritdoc />
     public override string ToString() => $"{nameof(ItStocks)} (Id = {_id})";
 }
@@ -0,0 +1,85 @@
+using System.Text;
+using Xunit;
+using QueryCat.Backend;
+using QueryCat.Backend.Core.Types;
+using QueryCat.Tests.QueryRunner;
+
+namespace QueryCat.IntegrationTests.Storage;
+
+/// <summary>
+/// Tests for the queries that keep <see cref="StringSliceBuffer" /> values longer than the current row.
+/// </summary>
+public sealed class StringSliceQueryTests : IDisposable
+{
+    private const int RowsCount = 20000;
+
+    private readonly ExecutionThreadBootstrapper _executionThreadBootstrapper = TestThread.CreateBootstrapper();
+    private readonly string _directory = Path.Combine(Path.GetTempPath(), "qcat-tests-" + Guid.NewGuid().ToString("N"));
+    private readonly string _sourceFile;
+
+    public StringSliceQueryTests()
+    {
+        Directory.CreateDirectory(_directory);
+        _sourceFile = Path.Combine(_directory, "source.csv");
+
+        // The file is large enough to reuse string slice chunks several times.
+        var sb = new StringBuilder("id,name,description\n");
+        for (var i = 0; i < RowsCount; i++)
+        {
+            sb.Append($"{i},name_{i % 7},description_{i:D5}\n");
+        }
+        File.WriteAllText(_sourceFile, sb.ToString());
+    }
+
+    [Fact]
+    public async Task GroupBy_StringColumn_ShouldKeepKeys()
+    {
+        // Arrange.
+        await using var thread = _executionThreadBootstrapper.Create();
+
+        // Act.
+        var result = await thread.RunAsync(
+            $"SELECT name, count(*) FROM read_file('{_sourceFile}') GROUP BY name ORDER BY name;");
+
+        // Assert.
+        Assert.Equal(
+            "name_0,2858\nname_1,2857\nname_2,2857\nname_3,2857\nname_4,2857\nname_5,2857\nname_6,2857",
+            await TestThread.GetQueryResultAsync(result));
+    }
+
+    [Fact]
+    public async Task OrderBy_StringColumn_ShouldKeepValues()
+    {
+        // Arrange.
+        await using var thread = _executionThreadBootstrapper.Create();
+
+        // Act.
+        var result = await thread.RunAsync(
+            $"SELECT id, description FROM read_file('{_sourceFile}') ORDER BY description DESC LIMIT 2;");
+
+        // Assert.
+        Assert.Equal(
+            "19999,description_19999\n19998,description_19998",
+            await TestThread.GetQueryResultAsync(result));
+    }
+
+    [Fact]
+    public async Task Distinct_StringColumn_ShouldKeepValues()
+    {
+        // Arrange.
+        await using var thread = _executionThreadBootstrapper.Create();
+
+        // Act.
+        var result = await thread.RunAsync(
+            $"SELECT COUNT(*) FROM (SELECT DISTINCT name FROM read_file('{_sourceFile}')) a;");
+
+        // Assert.
+        Assert.Equal("7", await TestThread.GetQueryResultAsync(result));
+    }
+
+    /// <inheritdoc />
+    public void Dispose()
+    {
+        Directory.Delete(_directory, recursive: true);
+    }
+}
@@ -1,4 +1,5 @@
 using Xunit;
+using QueryCat.Backend.Core.Functions;
 using QueryCat.Backend.Core.Types;
 using QueryCat.Backend.Execution;
 
@@ -73,4 +74,26 @@ public sealed class DefaultFixedSizeExecutionStackTests
         // Assert.
         Assert.Equal(3, stackCopy.Length);
     }
+
+    [Fact]
+    public void CallSiteCache_NestedFrames_ShouldReturnCurrentFrameCache()
+    {
+        // Arrange.
+        var outerCache = new FunctionCallSiteCache();
+        var innerCache = new FunctionCallSiteCache();
+
+        // Act.
+        _stack.CreateFrame(outerCache);
+        _stack.CreateFrame(innerCache);
+        var innerFrameCache = _stack.CallSiteCache;
+        _stack.CloseFrame();
+        var outerFrameCache = _stack.CallSiteCache;
+        _stack.CreateFrame();
+        var emptyFrameCache = _stack.CallSiteCache;
+
+        // Assert.
+        Assert.Same(innerCache, innerFrameCache);
+        Assert.Same(outerCache, outerFrameCache);
+        Assert.Null(emptyFrameCache);
+    }
 }
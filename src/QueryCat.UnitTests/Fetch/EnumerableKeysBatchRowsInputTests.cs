@@ -0,0 +1,67 @@
+using Xunit;
+using QueryCat.Backend.Core.Fetch;
+using QueryCat.Backend.Core.Types;
+
+namespace QueryCat.UnitTests.Fetch;
+
+/// <summary>
+/// Tests for <see cref="EnumerableKeysBatchRowsInput{TClass}" />.
+/// </summary>
+public class EnumerableKeysBatchRowsInputTests
+{
+    private sealed record Item(long Id, string Name, string Category);
+
+    private sealed class SampleKeysBatchInput : EnumerableKeysBatchRowsInput<Item>
+    {
+        private readonly Item[] _data =
+        [
+            new(1, "Anna", "a"),
+            new(2, "Marina", "a"),
+            new(3, "Sergey", "b"),
+        ];
+
+        /// <inheritdoc />
+        protected override void Initialize(ClassRowsFrameBuilder<Item> builder)
+        {
+            builder
+                .AddProperty("id", p => p.Id)
+                .AddProperty("name", p => p.Name)
+                .AddProperty("category", p => p.Category)
+                .AddKeyColumn("id")
+                .AddKeyColumn("category");
+        }
+
+        /// <inheritdoc />
+        protected override IEnumerable<Item> GetData(Fetcher<Item> fetcher) => _data;
+
+        /// <inheritdoc />
+        protected override Task<IEnumerable<Item>> GetDataByKeysAsync(
+            string keyColumnName,
+            IReadOnlyList<VariantValue> keys,
+            CancellationToken cancellationToken = default)
+        {
+            var category = GetKeyColumnValue("category");
+            var items = keys
+                .SelectMany(k => _data.Where(i => i.Id == k.AsInteger))
+                .Where(i => category.IsNull || i.Category == category.AsString)
+                .ToList();
+            return Task.FromResult<IEnumerable<Item>>(items);
+        }
+    }
+
+    [Fact]
+    public async Task ReadByKeysAsync_Keys_ShouldReturnRowsTaggedByKey()
+    {
+        // Arrange.
+        var input = new SampleKeysBatchInput();
+        await input.OpenAsync();
+        input.SetKeyColumnValue(2, new VariantValue("a"), VariantValue.Operation.Equals);
+
+        // Act.
+        var rows = await input.ReadByKeysAsync(0, [new VariantValue(3), new VariantValue(2), new VariantValue(1)]);
+
+        // Assert.
+        Assert.Equal(new long[] { 2, 1 }, rows.Select(r => r.Key.AsIntegerUnsafe));
+        Assert.Equal(new[] { "Marina", "Anna" }, rows.Select(r => r.Values[1].AsString));
+    }
+}
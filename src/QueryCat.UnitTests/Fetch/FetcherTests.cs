@@ -0,0 +1,213 @@
+using System.Collections.Concurrent;
+using Xunit;
+using QueryCat.Backend.Core.Fetch;
+
+namespace QueryCat.UnitTests.Fetch;
+
+/// <summary>
+/// Tests for <see cref="Fetcher{TClass}" />.
+/// </summary>
+public class FetcherTests
+{
+    private sealed record Item(int Id);
+
+    /// <summary>
+    /// Offset/limit source that returns the page only when it is released by the test.
+    /// </summary>
+    private sealed class GatedSource
+    {
+        private readonly ConcurrentDictionary<int, TaskCompletionSource<(IEnumerable<Item> Items, bool HasMore)>> _gates = new();
+
+        public IEnumerable<int> Offsets => _gates.Keys.Order();
+
+        public Task<(IEnumerable<Item> Items, bool HasMore)> FetchAsync(int limit, int offset, CancellationToken cancellationToken)
+        {
+            var gate = GetGate(offset);
+            cancellationToken.Register(() => gate.TrySetCanceled(cancellationToken));
+            return gate.Task;
+        }
+
+        public void Release(int offset, int count, bool hasMore = true)
+            => GetGate(offset).TrySetResult((Enumerable.Range(offset, count).Select(i => new Item(i)).ToList(), hasMore));
+
+        public bool IsCanceled(int offset) => GetGate(offset).Task.IsCanceled;
+
+        private TaskCompletionSource<(IEnumerable<Item> Items, bool HasMore)> GetGate(int offset)
+            => _gates.GetOrAdd(offset, _ => new TaskCompletionSource<(IEnumerable<Item> Items, bool HasMore)>(
+                TaskCreationOptions.RunContinuationsAsynchronously));
+    }
+
+    [Fact]
+    public async Task FetchLimitOffset_ReadAhead_ShouldRequestPagesConcurrently()
+    {
+        // Arrange.
+        var fetcher = new Fetcher<Item>
+        {
+            Limit = 5,
+            ReadAheadPages = 3,
+        };
+        var source = new GatedSource();
+        await using var enumerator = fetcher.FetchLimitOffsetAsync(source.FetchAsync).GetAsyncEnumerator();
+
+        // Act.
+        var moveNextTask = enumerator.MoveNextAsync().AsTask();
+        var startedOffsets = source.Offsets.ToList();
+        source.Release(offset: 10, count: 5);
+        source.Release(offset: 5, count: 5);
+        var isCompletedBeforeFirstPage = moveNextTask.IsCompleted;
+        source.Release(offset: 0, count: 5);
+        var ids = new List<int>();
+        for (var hasItem = await moveNextTask; hasItem && ids.Count < 6; hasItem = await enumerator.MoveNextAsync())
+        {
+            ids.Add(enumerator.Current.Id);
+        }
+
+        // Assert.
+        Assert.Equal(new[] { 0, 5, 10 }, startedOffsets);
+        Assert.False(isCompletedBeforeFirstPage);
+        Assert.Equal(Enumerable.Range(0, 6), ids);
+        Assert.Equal(new[] { 0, 5, 10, 15 }, source.Offsets);
+    }
+
+    [Theory]
+    [InlineData(3, false)]
+    [InlineData(0, true)]
+    public async Task FetchLimitOffset_LastPage_ShouldCancelReadAheadRequests(int count, bool hasMore)
+    {
+        // Arrange.
+        var fetcher = new Fetcher<Item>
+        {
+            Limit = 5,
+            ReadAheadPages = 3,
+        };
+        var source = new GatedSource();
+        var itemsTask = fetcher.FetchLimitOffsetAsync(source.FetchAsync).ToListAsync().AsTask();
+
+        // Act.
+        source.Release(offset: 0, count, hasMore);
+        var items = await itemsTask;
+
+        // Assert.
+        Assert.Equal(Enumerable.Range(0, count), items.Select(i => i.Id));
+        Assert.True(source.IsCanceled(5));
+        Assert.True(source.IsCanceled(10));
+        Assert.Equal(new[] { 0, 5, 10 }, source.Offsets);
+    }
+
+    [Fact]
+    public async Task FetchLimitOffset_AdaptiveFastSource_ShouldGrowLimit()
+    {
+        // Arrange.
+        var fetcher = new Fetcher<Item>
+        {
+            Limit = 2,
+            MaxAdaptiveLimit = 8,
+            AdaptiveLimitTargetLatency = TimeSpan.FromHours(1),
+        };
+        var requests = new List<(int Offset, int Limit)>();
+
+        // Act.
+        var items = await fetcher.FetchLimitOffsetAsync((limit, offset, ct) =>
+        {
+            requests.Add((offset, limit));
+            IEnumerable<Item> data = Enumerable.Range(offset, limit).Select(i => new Item(i)).ToList();
+            return Task.FromResult((data, true));
+        }).Take(20).ToListAsync();
+
+        // Assert.
+        Assert.Equal(Enumerable.Range(0, 20), items.Select(i => i.Id));
+        Assert.Equal(new[] { (0, 2), (2, 4), (6, 8), (14, 8) }, requests);
+    }
+
+    [Fact]
+    public async Task FetchLimitOffset_AdaptiveSlowSource_ShouldShrinkLimit()
+    {
+        // Arrange.
+        var fetcher = new Fetcher<Item>
+        {
+            Limit = 8,
+            MaxAdaptiveLimit = 8,
+            AdaptiveLimitTargetLatency = TimeSpan.FromTicks(1),
+        };
+        var requests = new List<(int Offset, int Limit)>();
+
+        // Act.
+        var items = await fetcher.FetchLimitOffsetAsync(async (limit, offset, ct) =>
+        {
+            requests.Add((offset, limit));
+            await Task.Delay(TimeSpan.FromMilliseconds(1), ct);
+            IEnumerable<Item> data = Enumerable.Range(offset, limit).Select(i => new Item(i)).ToList();
+            return (data, true);
+        }).Take(16).ToListAsync();
+
+        // Assert.
+        Assert.Equal(Enumerable.Range(0, 16), items.Select(i => i.Id));
+        Assert.Equal(new[] { (0, 8), (8, 4), (12, 2), (14, 1), (15, 1) }, requests);
+    }
+
+    [Fact]
+    public async Task FetchLimitOffset_AdaptiveShortPage_ShouldRequestFollowingItemsAgain()
+    {
+        // Arrange.
+        var fetcher = new Fetcher<Item>
+        {
+            Limit = 10,
+            MaxAdaptiveLimit = 40,
+            ReadAheadPages = 2,
+            AdaptiveLimitTargetLatency = TimeSpan.FromHours(1),
+        };
+        var requests = new ConcurrentQueue<(int Offset, int Limit)>();
+        var speculativeCanceled = new TaskCompletionSource();
+
+        // Act.
+        var items = await fetcher.FetchLimitOffsetAsync(async (limit, offset, ct) =>
+        {
+            requests.Enqueue((offset, limit));
+            if (offset == 10 && limit == 10)
+            {
+                try
+                {
+                    await Task.Delay(Timeout.Infinite, ct);
+                }
+                catch (OperationCanceledException)
+                {
+                    speculativeCanceled.SetResult();
+                    throw;
+                }
+            }
+            // The source returns 4 items max.
+            IEnumerable<Item> data = Enumerable.Range(offset, Math.Min(limit, 4)).Select(i => new Item(i)).ToList();
+            return (data, true);
+        }).Take(12).ToListAsync();
+
+        // Assert.
+        Assert.Equal(Enumerable.Range(0, 12), items.Select(i => i.Id));
+        Assert.True(speculativeCanceled.Task.IsCompleted);
+        Assert.Equal(new[] { (0, 10), (10, 10), (4, 4), (8, 4) }, requests.Take(4));
+    }
+
+    [Fact]
+    public async Task FetchPaged_ReadAheadWithMaxItems_ShouldNotRequestAhead()
+    {
+        // Arrange.
+        var fetcher = new Fetcher<Item>
+        {
+            Limit = 5,
+            ReadAheadPages = 4,
+            MaxReadAheadItems = 10,
+        };
+        var pages = new ConcurrentBag<int>();
+
+        // Act.
+        var items = await fetcher.FetchPagedAsync((page, limit, ct) =>
+        {
+            pages.Add(page);
+            var data = Enumerable.Range(page * limit, limit).Select(i => new Item(i));
+            return Task.FromResult(data);
+        }).Take(7).ToListAsync();
+
+        // Assert.
+        Assert.Equal(Enumerable.Range(0, 7), items.Select(i => i.Id));
+        Assert.Equal(new[] { 0, 1 }, pages.Order());
+    }
+}
@@ -0,0 +1,66 @@
+using System.Text;
+using Xunit;
+using QueryCat.Backend.Core.Data;
+using QueryCat.Backend.Core.Types;
+using QueryCat.Backend.Formatters;
+using QueryCat.Backend.Relational;
+using QueryCat.Backend.Storage;
+
+namespace QueryCat.UnitTests.Formatters;
+
+/// <summary>
+/// Tests for <see cref="TextTableOutput" />.
+/// </summary>
+public sealed class TextTableOutputTests
+{
+    private static async Task<string[]> WriteAsync(TextTableOutput.Overflow overflow)
+    {
+        var frame = new RowsFrame(
+            new Column("id", DataType.Integer),
+            new Column("name", DataType.String));
+        frame.AddRow(1, "short");
+        frame.AddRow(2, "a very long name");
+
+        var sb = new StringBuilder();
+        var output = new TextTableOutput(sb, overflow: overflow);
+        await output.WriteAsync(frame.GetIterator());
+        return sb.ToString().Split(Environment.NewLine, StringSplitOptions.RemoveEmptyEntries);
+    }
+
+    [Fact]
+    public async Task Write_TruncateOverflow_ShouldCutWideValues()
+    {
+        // Act.
+        var lines = await WriteAsync(TextTableOutput.Overflow.Truncate);
+
+        // Assert.
+        Assert.Equal(
+            new[]
+            {
+                "| id    | name       |",
+                "| ----- | ---------- |",
+                "| 1     | short      |",
+                "| 2     | a very lo… |",
+            },
+            lines);
+    }
+
+    [Fact]
+    public async Task Write_WrapOverflow_ShouldContinueOnNextLine()
+    {
+        // Act.
+        var lines = await WriteAsync(TextTableOutput.Overflow.Wrap);
+
+        // Assert.
+        Assert.Equal(
+            new[]
+            {
+                "| id    | name       |",
+                "| ----- | ---------- |",
+                "| 1     | short      |",
+                "| 2     | a very lon |",
+                "|       | g name     |",
+            },
+            lines);
+    }
+}
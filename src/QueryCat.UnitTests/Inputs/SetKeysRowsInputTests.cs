@@ -0,0 +1,135 @@
+using System.Collections.Concurrent;
+using Xunit;
+using QueryCat.Backend.Commands.Select;
+using QueryCat.Backend.Commands.Select.Inputs;
+using QueryCat.Backend.Commands.Select.KeyConditionValue;
+using QueryCat.Backend.Core;
+using QueryCat.Backend.Core.Data;
+using QueryCat.Backend.Core.Execution;
+using QueryCat.Backend.Core.Fetch;
+using QueryCat.Backend.Core.Types;
+
+namespace QueryCat.UnitTests.Inputs;
+
+/// <summary>
+/// Tests for <see cref="SetKeysRowsInput" />.
+/// </summary>
+public class SetKeysRowsInputTests
+{
+    private sealed class SampleKeysInput : KeysRowsInput, IRowsInputKeysBatch
+    {
+        private bool _hasRead;
+
+        /// <inheritdoc />
+        public override Column[] Columns { get; protected set; } =
+        [
+            new("id", DataType.Integer),
+            new("name", DataType.String),
+        ];
+
+        public List<long> ReadKeys { get; } = new();
+
+        public ConcurrentQueue<long[]> Lookups { get; } = new();
+
+        /// <inheritdoc />
+        public int MaxBatchSize { get; }
+
+        public SampleKeysInput(int maxBatchSize = 0)
+        {
+            MaxBatchSize = maxBatchSize;
+            AddKeyColumns([new KeyColumn(0)]);
+        }
+
+        /// <inheritdoc />
+        public override ErrorCode ReadValue(int columnIndex, out VariantValue value)
+        {
+            var id = GetKeyColumnValue("id");
+            value = columnIndex == 0 ? id : new VariantValue("name" + id.AsInteger);
+            return ErrorCode.OK;
+        }
+
+        /// <inheritdoc />
+        public override ValueTask<bool> ReadNextAsync(CancellationToken cancellationToken = default)
+        {
+            if (_hasRead)
+            {
+                return ValueTask.FromResult(false);
+            }
+            _hasRead = true;
+            ReadKeys.Add(GetKeyColumnValue("id").AsIntegerUnsafe);
+            return ValueTask.FromResult(true);
+        }
+
+        /// <inheritdoc />
+        public override Task ResetAsync(CancellationToken cancellationToken = default)
+        {
+            _hasRead = false;
+            return base.ResetAsync(cancellationToken);
+        }
+
+        /// <inheritdoc />
+        public async ValueTask<IReadOnlyList<KeyedRow>> ReadByKeysAsync(
+            int columnIndex,
+            IReadOnlyList<VariantValue> keys,
+            CancellationToken cancellationToken = default)
+        {
+            Lookups.Enqueue(keys.Select(k => k.AsIntegerUnsafe).ToArray());
+            await Task.Yield();
+            return keys
+                .Select(k => new KeyedRow(k, [k, new VariantValue("name" + k.AsIntegerUnsafe)]))
+                .ToArray();
+        }
+    }
+
+    private static SetKeysRowsInput CreateInput(SampleKeysInput input, long[] keys, int maxLookupsInFlight)
+    {
+        var conditions = new SelectQueryConditions();
+        conditions.TryAddCondition(input.Columns[0], VariantValue.Operation.In,
+            new KeyConditionValueGeneratorArray(keys.Select(k => new VariantValue(k))));
+        return new SetKeysRowsInput(NullExecutionThread.Instance, input, conditions, maxLookupsInFlight);
+    }
+
+    private static async Task<List<long>> ReadIdsAsync(IRowsInput input)
+    {
+        var ids = new List<long>();
+        while (await input.ReadNextAsync())
+        {
+            input.ReadValue(0, out var value);
+            ids.Add(value.AsIntegerUnsafe);
+        }
+        return ids;
+    }
+
+    [Fact]
+    public async Task ReadNext_RepeatedKeys_ShouldReadEveryKeyOnce()
+    {
+        // Arrange.
+        var input = new SampleKeysInput();
+        var setKeysInput = CreateInput(input, [1, 2, 2, 3, 1], maxLookupsInFlight: 0);
+
+        // Act.
+        var ids = await ReadIdsAsync(setKeysInput);
+
+        // Assert.
+        Assert.Equal(new long[] { 1, 2, 3 }, ids);
+        Assert.Equal(new long[] { 1, 2, 3 }, input.ReadKeys);
+        Assert.Empty(input.Lookups);
+    }
+
+    [Fact]
+    public async Task ReadNext_BatchInput_ShouldLookupDistinctKeysByBatches()
+    {
+        // Arrange.
+        var input = new SampleKeysInput(maxBatchSize: 2);
+        var setKeysInput = CreateInput(input, [1, 2, 2, 3, 4, 5], maxLookupsInFlight: 2);
+
+        // Act.
+        var ids = await ReadIdsAsync(setKeysInput);
+
+        // Assert.
+        Assert.Equal(new long[] { 1, 2, 3, 4, 5 }, ids);
+        Assert.Equal(3, input.Lookups.Count);
+        Assert.Equal(new long[] { 1, 2, 3, 4, 5 }, input.Lookups.SelectMany(k => k).Order());
+        Assert.Empty(input.ReadKeys);
+    }
+}
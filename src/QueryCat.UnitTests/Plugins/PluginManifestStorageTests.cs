@@ -0,0 +1,141 @@
+using Xunit;
+using QueryCat.Backend.Core.Plugins;
+
+namespace QueryCat.UnitTests.Plugins;
+
+/// <summary>
+/// Tests for <see cref="PluginManifestStorage" />.
+/// </summary>
+public sealed class PluginManifestStorageTests : IDisposable
+{
+    private readonly string _directory = Path.Combine(Path.GetTempPath(), "qcat-tests-" + Guid.NewGuid().ToString("N"));
+
+    public PluginManifestStorageTests()
+    {
+        Directory.CreateDirectory(_directory);
+    }
+
+    [Fact]
+    public void TryGet_TouchedPluginFile_ShouldReturnManifest()
+    {
+        // Arrange.
+        var pluginFile = Path.Combine(_directory, "test-plugin.dll");
+        File.WriteAllText(pluginFile, "content");
+        var storage = new PluginManifestStorage(Path.Combine(_directory, "cache"));
+        storage.Save(pluginFile, [new PluginManifestFunction("test(): integer", "Test.", true, false, null)]);
+        File.SetLastWriteTimeUtc(pluginFile, DateTime.UtcNow.AddMinutes(1));
+
+        // Act.
+        var found = storage.TryGet(pluginFile, out var manifest);
+
+        // Assert.
+        Assert.True(found);
+        Assert.Equal("test(): integer", Assert.Single(manifest!.Functions).Signature);
+    }
+
+    [Fact]
+    public void TryGet_ChangedPluginFile_ShouldInvalidateManifest()
+    {
+        // Arrange.
+        var pluginFile = Path.Combine(_directory, "test-plugin.dll");
+        File.WriteAllText(pluginFile, "content");
+        var storage = new PluginManifestStorage(Path.Combine(_directory, "cache"));
+        storage.Save(pluginFile, [new PluginManifestFunction("test(): integer", "Test.", true, false, null)]);
+        File.WriteAllText(pluginFile, "changed content");
+
+        // Act.
+        var found = storage.TryGet(pluginFile, out _);
+
+        // Assert.
+        Assert.False(found);
+        Assert.False(storage.TryGet(pluginFile, out _));
+    }
+
+    [Fact]
+    public void Save_SameNamePluginsInDifferentDirectories_ShouldKeepBothManifests()
+    {
+        // Arrange.
+        var pluginFile1 = Path.Combine(_directory, "dir1", "test-plugin.dll");
+        var pluginFile2 = Path.Combine(_directory, "dir2", "test-plugin.dll");
+        Directory.CreateDirectory(Path.GetDirectoryName(pluginFile1)!);
+        Directory.CreateDirectory(Path.GetDirectoryName(pluginFile2)!);
+        File.WriteAllText(pluginFile1, "content1");
+        File.WriteAllText(pluginFile2, "content2");
+        var storage = new PluginManifestStorage(Path.Combine(_directory, "cache"));
+
+        // Act.
+        storage.Save(pluginFile1, [new PluginManifestFunction("test1(): integer", "Test.", true, false, null)]);
+        storage.Save(pluginFile2, [new PluginManifestFunction("test2(): integer", "Test.", true, false, null)]);
+
+        // Assert.
+        Assert.NotEqual(storage.GetManifestFile(pluginFile1), storage.GetManifestFile(pluginFile2));
+        Assert.True(storage.TryGet(pluginFile1, out var manifest1));
+        Assert.True(storage.TryGet(pluginFile2, out var manifest2));
+        Assert.Equal("test1(): integer", Assert.Single(manifest1!.Functions).Signature);
+        Assert.Equal("test2(): integer", Assert.Single(manifest2!.Functions).Signature);
+    }
+
+    [Fact]
+    public void Save_LegacyCacheFiles_ShouldRemove()
+    {
+        // Arrange.
+        var pluginFile = Path.Combine(_directory, "test-plugin.dll");
+        File.WriteAllText(pluginFile, "content");
+        var cacheDirectory = Path.Combine(_directory, "cache");
+        Directory.CreateDirectory(cacheDirectory);
+        var legacyCacheFile = Path.Combine(cacheDirectory, "test-plugin.fcache.json");
+        File.WriteAllText(legacyCacheFile, "{}");
+        var storage = new PluginManifestStorage(cacheDirectory);
+
+        // Act.
+        storage.Save(pluginFile, [new PluginManifestFunction("test(): integer", "Test.", true, false, null)]);
+
+        // Assert.
+        Assert.False(File.Exists(legacyCacheFile));
+        Assert.True(File.Exists(storage.GetManifestFile(pluginFile)));
+    }
+
+    [Fact]
+    public void Save_SeveralPlugins_ShouldRemoveLegacyCacheFilesOnce()
+    {
+        // Arrange.
+        var pluginFile = Path.Combine(_directory, "test-plugin.dll");
+        File.WriteAllText(pluginFile, "content");
+        var cacheDirectory = Path.Combine(_directory, "cache");
+        var storage = new PluginManifestStorage(cacheDirectory);
+        storage.Save(pluginFile, [new PluginManifestFunction("test(): integer", "Test.", true, false, null)]);
+        var legacyCacheFile = Path.Combine(cacheDirectory, "test-plugin.fcache.json");
+        File.WriteAllText(legacyCacheFile, "{}");
+
+        // Act.
+        storage.Save(pluginFile, [new PluginManifestFunction("test(): integer", "Test.", true, false, null)]);
+
+        // Assert.
+        Assert.True(File.Exists(legacyCacheFile));
+    }
+
+    [Fact]
+    public void Save_LoadCallback_ShouldWriteManifestWithoutTempFiles()
+    {
+        // Arrange.
+        var pluginFile = Path.Combine(_directory, "test-plugin.dll");
+        File.WriteAllText(pluginFile, "content");
+        var cacheDirectory = Path.Combine(_directory, "cache");
+        var storage = new PluginManifestStorage(cacheDirectory);
+
+        // Act.
+        storage.Save(pluginFile, [new PluginManifestFunction("test(): integer", "Test.", true, false, null)],
+            hasLoadCallback: true);
+
+        // Assert.
+        Assert.True(storage.TryGet(pluginFile, out var manifest));
+        Assert.True(manifest!.HasLoadCallback);
+        Assert.Equal(storage.GetManifestFile(pluginFile), Assert.Single(Directory.GetFiles(cacheDirectory)));
+    }
+
+    /// <inheritdoc />
+    public void Dispose()
+    {
+        Directory.Delete(_directory, recursive: true);
+    }
+}
@@ -0,0 +1,115 @@
+using Xunit;
+using QueryCat.Backend.Core;
+using QueryCat.Backend.Core.Data;
+using QueryCat.Backend.Core.Types;
+using QueryCat.Backend.Relational;
+using QueryCat.Backend.Storage;
+
+namespace QueryCat.UnitTests.Storage;
+
+/// <summary>
+/// Tests for <see cref="RowsBatchBuffer" /> and <see cref="RowsOutputExtensions" />.
+/// </summary>
+public class RowsBatchBufferTests
+{
+    private sealed class TestBatchOutput(int failOnBatch = -1) : RowsOutput, IRowsOutputBatch
+    {
+        public int BatchesCount { get; private set; }
+
+        public int RowsCount { get; private set; }
+
+        /// <inheritdoc />
+        public override Task OpenAsync(CancellationToken cancellationToken = default) => Task.CompletedTask;
+
+        /// <inheritdoc />
+        public override Task CloseAsync(CancellationToken cancellationToken = default) => Task.CompletedTask;
+
+        /// <inheritdoc />
+        protected override ValueTask<ErrorCode> OnWriteAsync(VariantValue[] values, CancellationToken cancellationToken = default)
+        {
+            RowsCount++;
+            return ValueTask.FromResult(ErrorCode.OK);
+        }
+
+        /// <inheritdoc />
+        protected override ValueTask<ErrorCode> OnWriteBatchAsync(IReadOnlyList<VariantValue[]> rows,
+            CancellationToken cancellationToken = default)
+        {
+            if (BatchesCount++ == failOnBatch)
+            {
+                return ValueTask.FromResult(ErrorCode.Error);
+            }
+            RowsCount += rows.Count;
+            return ValueTask.FromResult(ErrorCode.OK);
+        }
+    }
+
+    /// <summary>
+    /// The iterator checks that all the previous rows have been written before it moves next.
+    /// </summary>
+    private sealed class StreamRowsIterator(IRowsIterator iterator, TestBatchOutput output) : IRowsIterator
+    {
+        private int _readCount;
+
+        /// <inheritdoc />
+        public Column[] Columns => iterator.Columns;
+
+        /// <inheritdoc />
+        public Row Current => iterator.Current;
+
+        /// <inheritdoc />
+        public ValueTask<bool> MoveNextAsync(CancellationToken cancellationToken = default)
+        {
+            Assert.Equal(_readCount, output.RowsCount);
+            _readCount++;
+            return iterator.MoveNextAsync(cancellationToken);
+        }
+
+        /// <inheritdoc />
+        public Task ResetAsync(CancellationToken cancellationToken = default) => iterator.ResetAsync(cancellationToken);
+
+        /// <inheritdoc />
+        public void Explain(IndentedStringBuilder stringBuilder) => iterator.Explain(stringBuilder);
+    }
+
+    [Fact]
+    public async Task WriteAsync_BatchFailed_ShouldStopAndReturnError()
+    {
+        // Arrange.
+        var frame = CreateFrame(rowsCount: 5);
+        var output = new TestBatchOutput(failOnBatch: 1);
+
+        // Act.
+        var (writeCount, errorCode) = await new RowsBatchBuffer(batchSize: 2).WriteAsync(output, frame.GetIterator(), CancellationToken.None);
+
+        // Assert.
+        Assert.Equal(ErrorCode.Error, errorCode);
+        Assert.Equal(2, writeCount);
+        Assert.Equal(2, output.BatchesCount);
+    }
+
+    [Fact]
+    public async Task WriteAsync_Extension_ShouldWriteStreamRowByRow()
+    {
+        // Arrange.
+        var frame = CreateFrame(rowsCount: 5);
+        var output = new TestBatchOutput();
+
+        // Act.
+        await output.WriteAsync(new StreamRowsIterator(frame.GetIterator(), output));
+
+        // Assert.
+        Assert.Equal(5, output.RowsCount);
+        Assert.Equal(0, output.BatchesCount);
+    }
+
+    private static RowsFrame CreateFrame(int rowsCount)
+    {
+        var frame = new RowsFrame(new Column("id", DataType.Integer));
+        for (var i = 0; i < rowsCount; i++)
+        {
+            frame.AddRow(new[] { new VariantValue(i) });
+        }
+        return frame;
+    }
+}
@@ -63,4 +63,59 @@ public sealed class VariantValueTests
         // Arrange, act and assert.
         Assert.Throws<FormatException>(() => new VariantValue("820xx").ToInt32());
     }
+
+    [Fact]
+    public void StringSlice_CompareWithString_ShouldBeEqual()
+    {
+        // Arrange.
+        var buffer = new StringSliceBuffer();
+        var slice = buffer.Create("test");
+        var lessSlice = buffer.Create("abc");
+        var value = new VariantValue("test");
+
+        // Assert.
+        Assert.True(slice.IsStringSlice);
+        Assert.Equal(DataType.String, slice.Type);
+        Assert.Equal(value, slice);
+        Assert.Equal(value.GetHashCode(), slice.GetHashCode());
+        Assert.True(VariantValue.Equals(in slice, in value, out _).AsBoolean);
+        Assert.True(VariantValue.Less(in lessSlice, in slice, out _).AsBoolean);
+        Assert.True(VariantValue.Like(in slice, in value, out _).AsBoolean);
+    }
+
+    [Fact]
+    public void StringSlice_Materialize_ShouldKeepValue()
+    {
+        // Arrange.
+        var buffer = new StringSliceBuffer(chunkSize: 16);
+        var slice = buffer.Create("1");
+        buffer.Create("2");
+
+        // Act.
+        var value = slice.Materialize();
+
+        // Assert.
+        Assert.False(value.IsStringSlice);
+        Assert.Equal("1", value.AsString);
+        Assert.Equal(1, slice.AsInteger);
+    }
+
+    [Fact]
+    public void StringSlice_ChunkReused_ShouldInvalidateSlice()
+    {
+        // Arrange.
+        var buffer = new StringSliceBuffer(chunkSize: 8);
+        var slice = buffer.Create("1");
+        var value = slice.Materialize();
+
+        // Act.
+        for (var i = 0; i < (StringSliceBuffer.RetainedChunksCount + 1) * 8; i++)
+        {
+            buffer.Create("2");
+        }
+
+        // Assert.
+        Assert.Throws<InvalidOperationException>(() => slice.AsString);
+        Assert.Equal("1", value.AsString);
+    }
 }
@@ -0,0 +1,61 @@
+using System.Text;
+using Xunit;
+using QueryCat.Backend.Utils;
+
+namespace QueryCat.UnitTests.Utils;
+
+/// <summary>
+/// Tests for <see cref="AtomicFileStream" />.
+/// </summary>
+public sealed class AtomicFileStreamTests : IDisposable
+{
+    private readonly string _directory = Path.Combine(Path.GetTempPath(), "qcat-tests-" + Guid.NewGuid().ToString("N"));
+
+    public AtomicFileStreamTests()
+    {
+        Directory.CreateDirectory(_directory);
+    }
+
+    [Fact]
+    public void Dispose_Committed_ShouldReplaceTargetFile()
+    {
+        // Arrange.
+        var file = Path.Combine(_directory, "data.csv");
+        File.WriteAllText(file, "old");
+
+        // Act.
+        using (var stream = new AtomicFileStream(file))
+        {
+            stream.Write(Encoding.UTF8.GetBytes("new"));
+            stream.Commit();
+        }
+
+        // Assert.
+        Assert.Equal("new", File.ReadAllText(file));
+        Assert.Single(Directory.GetFiles(_directory));
+    }
+
+    [Fact]
+    public void Dispose_NotCommitted_ShouldKeepTargetFile()
+    {
+        // Arrange.
+        var file = Path.Combine(_directory, "data.csv");
+        File.WriteAllText(file, "old");
+
+        // Act.
+        using (var stream = new AtomicFileStream(file))
+        {
+            stream.Write(Encoding.UTF8.GetBytes("new"));
+        }
+
+        // Assert.
+        Assert.Equal("old", File.ReadAllText(file));
+        Assert.Single(Directory.GetFiles(_directory));
+    }
+
+    /// <inheritdoc />
+    public void Dispose()
+    {
+        Directory.Delete(_directory, recursive: true);
+    }
+}
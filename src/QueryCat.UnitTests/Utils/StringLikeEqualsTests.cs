@@ -12,6 +12,17 @@ public class StringLikeEqualsTests
     [InlineData("%", "", true)]
     [InlineData("_Stuff_.txt_", "1Stuff3.txt4", true)]
     [InlineData("/mnt/data%.log", "/mnt/data1.log", true)]
+    [InlineData("%ab", "aab", true)]
+    [InlineData("%aab", "aaab", true)]
+    [InlineData("%a_c", "abac", false)]
+    [InlineData("%a_c%", "xxabcxx", true)]
+    [InlineData("a%b%c", "aXbYbZc", true)]
+    [InlineData("a%b%c", "aXbYbZ", false)]
+    [InlineData("[o-q]epperoni", "Pepperoni", true)]
+    [InlineData("[^o-q]epperoni", "pepperoni", false)]
+    [InlineData("[abc]x", "Bx", true)]
+    [InlineData("%[abc]x", "zzcx", true)]
+    [InlineData("[abc", "[abc", true)]
     public void MatchesToLikePattern(string pattern, string str, bool shouldMatch)
     {
         // Act.
@@ -0,0 +1,62 @@
+using Xunit;
+using QueryCat.Backend.Core.Types;
+
+namespace QueryCat.UnitTests.Utils;
+
+/// <summary>
+/// Tests for <see cref="StringLikePattern" />.
+/// </summary>
+public class StringLikePatternTests
+{
+    [Theory]
+    [InlineData("%", "", true)]
+    [InlineData("", "", true)]
+    [InlineData("", "a", false)]
+    [InlineData("abc", "ABC", true)]
+    [InlineData("abc", "abcd", false)]
+    [InlineData("abc%", "abcd", true)]
+    [InlineData("abc%", "ab", false)]
+    [InlineData("%abc", "aabc", true)]
+    [InlineData("%abc%", "xxAbCxx", true)]
+    [InlineData("%abc%", "xxabxx", false)]
+    [InlineData("_Stuff_.txt_", "1Stuff3.txt4", true)]
+    [InlineData("/mnt/data%.log", "/mnt/data1.log", true)]
+    public void IsMatch_Pattern_ShouldMatch(string pattern, string str, bool shouldMatch)
+    {
+        // Arrange.
+        var likePattern = new StringLikePattern(pattern);
+
+        // Act.
+        var result = likePattern.IsMatch(str);
+
+        // Assert.
+        Assert.Equal(shouldMatch, result);
+    }
+
+    [Theory]
+    [InlineData("%", "")]
+    [InlineData("abc", "ABC")]
+    [InlineData("abc", "abcd")]
+    [InlineData("abc%", "ABcd")]
+    [InlineData("%ab", "aab")]
+    [InlineData("%ab", "b")]
+    [InlineData("%abc%", "xxaBcxx")]
+    [InlineData("%abc%", "xxabxx")]
+    [InlineData("%straße", "STRASSE")]
+    [InlineData("%ı", "I")]
+    [InlineData("%i%", "İ")]
+    [InlineData("_Stuff_.txt_", "1Stuff3.txt4")]
+    [InlineData("%a_c%", "xxabcxx")]
+    public void IsMatch_ConstantAndGenericMatchers_ShouldAgree(string pattern, string str)
+    {
+        // Arrange.
+        var likePattern = new StringLikePattern(pattern);
+
+        // Act.
+        var constantResult = likePattern.IsMatch(str);
+        var genericResult = StringLikeEquals.Equals(pattern, str);
+
+        // Assert.
+        Assert.Equal(genericResult, constantResult);
+    }
+}